@@ -5,6 +5,7 @@ import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.glutils.*;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.physics.box2d.*;
 
 /**
@@ -21,14 +22,15 @@ public class Canvas {
 		ALPHA_BLEND, // Alpha blending on, assuming the colors have pre-multipled alpha (DEFAULT)
 		NO_PREMULT, // Alpha blending on, assuming the colors have no pre-multipled alpha
 		ADDITIVE, // Color values are added together, causing a white-out effect
-		OPAQUE // Color values are draw on top of one another with no transparency support
+		OPAQUE, // Color values are draw on top of one another with no transparency support
+		PREMULTIPLY // Colors without pre-multiplied alpha are blended into a transparent buffer, leaving it pre-multiplied
 	}	
 
 	private PolygonSpriteBatch spriteBatch; // Drawing context to handle textures AND POLYGONS as sprites
-	private ShapeRenderer shadowRender; // Rendering context for shadows
-	private ShapeRenderer progressRender; // Rendering context for progress circle
-	private ShapeRenderer progressOutlineRender; // Rendering context for progress circle outline
-	private ShapeRenderer debugRender; // Rendering context for the debug outlines
+	private CountingShapeRenderer shadowRender; // Rendering context for shadows
+	private CountingShapeRenderer progressRender; // Rendering context for progress circle
+	private CountingShapeRenderer progressOutlineRender; // Rendering context for progress circle outline
+	private CountingShapeRenderer debugRender; // Rendering context for the debug outlines
 	private DrawPass active; // Track whether or not we are active (for error checking)
 	private BlendState blend; // The current color blending mode
 	private OrthographicCamera camera; // Camera for the underlying SpriteBatch
@@ -45,16 +47,25 @@ public class Canvas {
 	private TextureRegion holder; // Cache object to handle raw textures
 	private Matrix4 cameraMatrix;
 
+	// RENDER STATISTICS
+	private boolean statsEnabled; // Whether the counters below are collected
+	private RenderStats frameStats = new RenderStats(); // Counters of the frame being drawn
+	private RenderStats lastStats = new RenderStats(); // Counters of the last finished frame
+	private RenderStats.Pass statsPass; // The pass being counted, or null
+	private int passFlushes; // ShapeRenderer flushes when the pass began
+	private int passBinds; // Texture binds when the pass began
+	private GLProfiler profiler; // Counts texture binds while statistics are enabled
+
 	/**
 	 * Creates a new Canvas determined by the application configuration.
 	 */
 	public Canvas() {
 		active = DrawPass.INACTIVE;
 		spriteBatch = new PolygonSpriteBatch();
-		debugRender = new ShapeRenderer();
-		shadowRender = new ShapeRenderer();
-		progressRender = new ShapeRenderer();
-		progressOutlineRender = new ShapeRenderer();
+		debugRender = new CountingShapeRenderer();
+		shadowRender = new CountingShapeRenderer();
+		progressRender = new CountingShapeRenderer();
+		progressOutlineRender = new CountingShapeRenderer();
 		
 		// Set the projection matrix (for proper scaling)
 		camera = new OrthographicCamera(getWidth(),getHeight());
@@ -82,6 +93,7 @@ public class Canvas {
 			Gdx.app.error("Canvas", "Cannot dispose while drawing active", new IllegalStateException());
 			return;
 		}
+		setRenderStatsEnabled(false);
 		spriteBatch.dispose();
     	spriteBatch = null;
     	shadowRender.dispose();
@@ -255,6 +267,9 @@ public class Canvas {
 		case OPAQUE:
 			spriteBatch.setBlendFunction(GL20.GL_ONE,GL20.GL_ZERO);
 			break;
+		case PREMULTIPLY:
+			spriteBatch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA,GL20.GL_ONE_MINUS_SRC_ALPHA,GL20.GL_ONE,GL20.GL_ONE_MINUS_SRC_ALPHA);
+			break;
 		}
 		blend = state;
 	}
@@ -265,6 +280,8 @@ public class Canvas {
 	public void clear() {
 		Gdx.gl.glClearColor(0.39f, 0.58f, 0.93f, 1.0f);  // Homage to the XNA years
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);		
+		if (statsEnabled)
+			finishFrameStats();
 	}
 
 	/**
@@ -275,6 +292,7 @@ public class Canvas {
 	 * @param affine the global transform apply to the camera
 	 */
     public void begin(Affine2 affine) {
+		beginPassStats(RenderStats.Pass.SPRITES);
 		global.setAsAffine(affine);
     	global.mulLeft(camera.combined);
 		spriteBatch.setProjectionMatrix(global);
@@ -293,6 +311,7 @@ public class Canvas {
 	 * @param sy the amount to scale the y-axis
 	 */
     public void begin(float sx, float sy) {
+		beginPassStats(RenderStats.Pass.SPRITES);
 		global.idt();
 		global.scl(sx,sy,1.0f);
     	global.mulLeft(camera.combined);
@@ -308,13 +327,29 @@ public class Canvas {
 	 * Nothing is flushed to the graphics card until the method end() is called.
 	 */
     public void begin() {
+		beginPassStats(RenderStats.Pass.SPRITES);
 		spriteBatch.setProjectionMatrix(camera.combined);
     	spriteBatch.begin();
     	active = DrawPass.STANDARD;
 
     }
 
+	/**
+	 * Start a standard drawing sequence with the given projection instead of the camera.
+	 *
+	 * This is used to draw into an offscreen buffer with its own coordinates.
+	 *
+	 * @param projection the projection matrix for this drawing pass
+	 */
+    public void begin(Matrix4 projection) {
+		beginPassStats(RenderStats.Pass.SPRITES);
+		spriteBatch.setProjectionMatrix(projection);
+    	spriteBatch.begin();
+    	active = DrawPass.STANDARD;
+    }
+
     public void beginShadows() {
+		beginPassStats(RenderStats.Pass.SHADOWS);
 		Gdx.gl.glEnable(GL20.GL_BLEND);
 		Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 		shadowRender.setProjectionMatrix(camera.combined);
@@ -323,6 +358,7 @@ public class Canvas {
 	}
 
 	public void beginProgressCircle(){
+		beginPassStats(RenderStats.Pass.PROGRESS);
 		Gdx.gl.glEnable(GL20.GL_BLEND);
 		Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 		progressOutlineRender.setProjectionMatrix(camera.combined);
@@ -334,6 +370,7 @@ public class Canvas {
 
 
     public void beginOverlay() {
+		beginPassStats(RenderStats.Pass.OVERLAY);
     	spriteBatch.setProjectionMatrix(cameraMatrix);
 		spriteBatch.begin();
 		active = DrawPass.STANDARD;
@@ -344,12 +381,14 @@ public class Canvas {
 	 */
     public void end() {
     	spriteBatch.end();
+    	endPassStats();
     	active = DrawPass.INACTIVE;
     }
 
     public void endShadows() {
     	shadowRender.end();
 		Gdx.gl.glDisable(GL20.GL_BLEND);
+    	endPassStats();
     	active = DrawPass.INACTIVE;
 	}
 
@@ -357,6 +396,7 @@ public class Canvas {
 		progressOutlineRender.end();
 		progressRender.end();
 		Gdx.gl.glDisable(GL20.GL_BLEND);
+		endPassStats();
 		active = DrawPass.INACTIVE;
 	}
 
@@ -817,6 +857,7 @@ public class Canvas {
 	 * @param affine the global transform apply to the camera
 	 */
     public void beginDebug(Affine2 affine) {
+		beginPassStats(RenderStats.Pass.DEBUG);
 		global.setAsAffine(affine);
     	global.mulLeft(camera.combined);
     	debugRender.setProjectionMatrix(global);
@@ -834,6 +875,7 @@ public class Canvas {
 	 * @param sy the amount to scale the y-axis
 	 */    
     public void beginDebug(float sx, float sy) {
+		beginPassStats(RenderStats.Pass.DEBUG);
 		global.idt();
 		global.scl(sx,sy,1.0f);
     	global.mulLeft(camera.combined);
@@ -849,6 +891,7 @@ public class Canvas {
 	 * Nothing is flushed to the graphics card until the method end() is called.
 	 */
     public void beginDebug() {
+		beginPassStats(RenderStats.Pass.DEBUG);
     	debugRender.setProjectionMatrix(camera.combined);
     	debugRender.begin(ShapeRenderer.ShapeType.Filled);
     	debugRender.setColor(Color.RED);
@@ -864,6 +907,7 @@ public class Canvas {
 	 */
     public void endDebug() {
     	debugRender.end();
+    	endPassStats();
     	active = DrawPass.INACTIVE;
     }
     
@@ -1021,6 +1065,119 @@ public class Canvas {
     	debugRender.ellipse(x0-w, y0-h, 2*w, 2*h, 12);
     }
     
+	/**
+	 * Returns whether render statistics are being collected.
+	 *
+	 * @return whether render statistics are being collected
+	 */
+	public boolean isRenderStatsEnabled() {
+		return statsEnabled;
+	}
+
+	/**
+	 * Sets whether to collect render statistics.
+	 *
+	 * While enabled, texture binds are counted with a GL profiler, which wraps every
+	 * GL call. The other counters cost a few additions per pass.
+	 *
+	 * @param enabled whether to collect render statistics
+	 */
+	public void setRenderStatsEnabled(boolean enabled) {
+		if (active != DrawPass.INACTIVE) {
+			Gdx.app.error("Canvas", "Cannot alter property while drawing active", new IllegalStateException());
+			return;
+		}
+		if (enabled == statsEnabled)
+			return;
+		statsEnabled = enabled;
+		if (enabled) {
+			if (profiler == null)
+				profiler = new GLProfiler(Gdx.graphics);
+			profiler.enable();
+		} else if (profiler != null) {
+			profiler.disable();
+		}
+		frameStats.clear();
+		lastStats.clear();
+	}
+
+	/**
+	 * Returns the render statistics of the last finished frame.
+	 *
+	 * A frame ends when clear() is called for the next one. The counters are all zero
+	 * while statistics are not enabled.
+	 *
+	 * @return the render statistics of the last finished frame
+	 */
+	public RenderStats getRenderStats() {
+		return lastStats;
+	}
+
+	/**
+	 * Draws the render statistics of the last finished frame as text.
+	 *
+	 * This must be called inside a standard or overlay drawing pass, which is itself
+	 * counted in the next frame's statistics.
+	 *
+	 * @param font The font to use
+	 * @param x The x-coordinate of the upper-left corner
+	 * @param y The y-coordinate of the upper-left corner
+	 */
+	public void drawRenderStats(BitmapFont font, float x, float y) {
+		if (active != DrawPass.STANDARD) {
+			Gdx.app.error("Canvas", "Cannot draw without active begin()", new IllegalStateException());
+			return;
+		}
+		font.draw(spriteBatch, lastStats.toText(), x, y);
+	}
+
+	private void beginPassStats(RenderStats.Pass pass) {
+		if (!statsEnabled)
+			return;
+		statsPass = pass;
+		spriteBatch.maxTrianglesInBatch = 0;
+		passFlushes = countShapeFlushes();
+		passBinds = profiler.getTextureBindings();
+	}
+
+	private void endPassStats() {
+		if (statsPass == null)
+			return;
+		boolean sprites = statsPass == RenderStats.Pass.SPRITES || statsPass == RenderStats.Pass.OVERLAY;
+		frameStats.record(statsPass, sprites ? spriteBatch.renderCalls : 0, sprites ? spriteBatch.maxTrianglesInBatch : 0,
+				countShapeFlushes() - passFlushes, profiler.getTextureBindings() - passBinds);
+		statsPass = null;
+	}
+
+	private void finishFrameStats() {
+		frameStats.setTotalRenderCalls(spriteBatch.totalRenderCalls);
+		RenderStats finished = frameStats;
+		frameStats = lastStats;
+		lastStats = finished;
+		frameStats.clear();
+		profiler.reset();
+	}
+
+	private int countShapeFlushes() {
+		return shadowRender.flushes + progressRender.flushes + progressOutlineRender.flushes + debugRender.flushes;
+	}
+
+	/**
+	 * A ShapeRenderer that counts the batches it sends to the graphics card.
+	 *
+	 * Every flush, whether from end() or from a full vertex buffer, goes through end().
+	 */
+	private static class CountingShapeRenderer extends ShapeRenderer {
+		int flushes;
+
+		@Override
+		public void end() {
+			if (getRenderer().getNumVertices() > 0)
+				flushes++;
+			super.end();
+		}
+	}
+
 	/**
 	 * Compute the affine transform (and store it in local) for this image.
 	 * 
@@ -0,0 +1,118 @@
+package tiktaalik.trino;
+
+import static tiktaalik.trino.GameController.*;
+
+import tiktaalik.util.PooledList;
+
+import java.util.Iterator;
+
+/**
+ * The back-to-front draw order of the objects that stand up from the level.
+ *
+ * Objects are kept in one bucket per grid row and layer instead of being sorted every
+ * frame. Rows are drawn from the top of the level down, and within a row the terrain
+ * (walls, doors and boulders) is drawn before the actors standing in it. Fireflies
+ * have a bucket of their own drawn last. An object only moves to another bucket when
+ * its row or layer changes, so keeping the queue up to date is O(1) per object and
+ * drawing is a linear walk.
+ *
+ * Each object remembers its bucket and its node in it, so it is queued at most once.
+ */
+public class DrawQueue {
+    private static final int TERRAIN = 0;
+    private static final int ACTORS = 1;
+    private static final int LAYERS = 2;
+
+    private int rows;
+    /** Buckets in draw order: rows from the top down, each split by layer, then the fireflies */
+    private PooledList<GameObject>[] buckets;
+
+    @SuppressWarnings("unchecked")
+    public DrawQueue(int rows) {
+        this.rows = rows;
+        buckets = (PooledList<GameObject>[]) new PooledList<?>[rows * LAYERS + 1];
+        for (int k = 0; k < buckets.length; k++)
+            buckets[k] = new PooledList<GameObject>();
+    }
+
+    /**
+     * Adds an object to the queue, or moves it to the bucket for its current row and layer
+     */
+    public void update(GameObject g) {
+        int bucket = bucketOf(g);
+        if (g.getDrawEntry() != null) {
+            if (g.getDrawBucket() == bucket)
+                return;
+            g.getDrawEntry().remove();
+        }
+        g.setDrawEntry(buckets[bucket].addEntry(g));
+        g.setDrawBucket(bucket);
+    }
+
+    /** Takes an object out of the queue, if it is in it */
+    public void remove(GameObject g) {
+        if (g.getDrawEntry() == null)
+            return;
+        g.getDrawEntry().remove();
+        g.setDrawEntry(null);
+        g.setDrawBucket(-1);
+    }
+
+    /**
+     * Draws every queued object in order.
+     *
+     * Entries are dropped on the way if their object has left the level since it was
+     * queued, or if the object no longer refers to the entry because it was queued again
+     * elsewhere or taken out of the queue.
+     */
+    public void draw(Canvas canvas) {
+        for (int k = 0; k < buckets.length; k++) {
+            Iterator<PooledList<GameObject>.Entry> iterator = buckets[k].entryIterator();
+            while (iterator.hasNext()) {
+                PooledList<GameObject>.Entry entry = iterator.next();
+                GameObject g = entry.getValue();
+                if (g.getDrawEntry() != entry) {
+                    entry.remove();
+                } else if (g.getObjectEntry() == null) {
+                    g.setDrawEntry(null);
+                    g.setDrawBucket(-1);
+                    entry.remove();
+                } else {
+                    g.draw(canvas);
+                }
+            }
+        }
+    }
+
+    /** Empties the queue, releasing every object's handle */
+    public void clear() {
+        for (int k = 0; k < buckets.length; k++) {
+            for (GameObject g : buckets[k]) {
+                g.setDrawEntry(null);
+                g.setDrawBucket(-1);
+            }
+            buckets[k].clear();
+        }
+    }
+
+    private int bucketOf(GameObject g) {
+        if (g.getType() == FIREFLY)
+            return buckets.length - 1;
+
+        // Objects are centered on 1 + 2 * row, so an actor belongs to the row it is closest to
+        int row = Math.round((g.getY() - 1) / 2);
+        row = Math.max(0, Math.min(rows - 1, row));
+        int layer;
+        switch (g.getType()) {
+            case WALL:
+            case EDIBLEWALL:
+            case GOAL:
+            case BOULDER:
+                layer = TERRAIN;
+                break;
+            default:
+                layer = ACTORS;
+        }
+        return (rows - 1 - row) * LAYERS + layer;
+    }
+}
@@ -1,7 +1,7 @@
 package tiktaalik.trino;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import tiktaalik.util.FilmStrip;
 
@@ -29,7 +29,7 @@ public abstract class EdibleObject extends GameObject {
         return eaten;
     }
 
-    public void setEatAnimation(Texture texture, int frames) {
+    public void setEatAnimation(TextureRegion texture, int frames) {
         numEatenFrames = frames;
         eatenTextureSet = new FilmStrip(texture,1,frames,frames);
         origin = new Vector2( eatenTextureSet.getRegionWidth()/2.0f,  eatenTextureSet.getRegionHeight()/2.0f);
@@ -7,6 +7,7 @@ import com.badlogic.gdx.*;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.utils.*;
 import com.badlogic.gdx.assets.*;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.physics.box2d.*;
@@ -320,7 +321,17 @@ public class GameController implements ContactListener, Screen {
 	private BitmapFont displayFont;
 	private BitmapFont tutorialFont;
 	private Hashtable<String, TextureRegion> textureDict = new Hashtable<String, TextureRegion>();
-	private Hashtable<String, Texture> filmStripDict = new Hashtable<String, Texture>();
+	private Hashtable<String, TextureRegion> filmStripDict = new Hashtable<String, TextureRegion>();
+
+	/** The atlases the images in ATLAS_DIR are packed into at build time (see core/build.gradle) */
+	private static final String SPRITE_ATLAS_FILE = "atlas/sprites.atlas";
+	private static final String STRIP_ATLAS_FILE = "atlas/strips.atlas";
+	private static final String ATLAS_DIR = "trino/";
+	/** Names of the regions in each atlas, known before it is loaded */
+	private ObjectSet<String> spriteRegions = new ObjectSet<String>();
+	private ObjectSet<String> stripRegions = new ObjectSet<String>();
+	private TextureAtlas spriteAtlas; // Sprites, magnified with nearest filtering like createTexture
+	private TextureAtlas stripAtlas; // Film strips, magnified with linear filtering like createFilmTexture
 
 	// GAME CONSTANTS
 	private static final int EXIT_COUNT = 0; // How many frames after winning/losing do we continue?
@@ -383,8 +394,8 @@ public class GameController implements ContactListener, Screen {
 
 	private int currentLevel;
 
-	private PooledList<AIController> controls = new PooledList<AIController>();
-	private PooledList<FireFlyAIController> fireFlyControls = new PooledList<FireFlyAIController>();
+	private SwapList<AIController> controls = new SwapList<AIController>();
+	private SwapList<FireFlyAIController> fireFlyControls = new SwapList<FireFlyAIController>();
 
 	private boolean active; // Whether or not this is an active controller
 	private boolean complete; // Whether we have completed this level
@@ -444,511 +455,263 @@ public class GameController implements ContactListener, Screen {
 		manager.load(TUTORIAL_FONT_FILE, BitmapFont.class, size2ParamsTutorial);
 		assets.add(TUTORIAL_FONT_FILE);
 
+		// Load the atlases of packed images, if they have been built
+		loadAtlas(manager, SPRITE_ATLAS_FILE, spriteRegions);
+		loadAtlas(manager, STRIP_ATLAS_FILE, stripRegions);
+
 		// Load textures
-		manager.load(BACKGROUND_FILE,Texture.class);
-		assets.add(BACKGROUND_FILE);
-		manager.load(OVERLAY_FILE,Texture.class);
-		assets.add(OVERLAY_FILE);
-		manager.load(GREEN_DOOR_STRIP, Texture.class);
-		assets.add(GREEN_DOOR_STRIP);
-		manager.load(YELLOW_DOOR_STRIP, Texture.class);
-		assets.add(YELLOW_DOOR_STRIP);
-		manager.load(BLUE_DOOR_STRIP, Texture.class);
-		assets.add(BLUE_DOOR_STRIP);
-		manager.load(RED_DOOR_STRIP, Texture.class);
-		assets.add(RED_DOOR_STRIP);
-		manager.load(GOAL_FILE,Texture.class);
-		assets.add(GOAL_FILE);
-		manager.load(GOAL_CLOSED_FILE,Texture.class);
-		assets.add(GOAL_CLOSED_FILE);
-		manager.load(DOOR_FILE_ONE, Texture.class);
-		assets.add(DOOR_FILE_ONE);
-		manager.load(DOOR_CLOSED_FILE_ONE, Texture.class);
-		assets.add(DOOR_CLOSED_FILE_ONE);
-		manager.load(DOOR_FILE_TWO, Texture.class);
-		assets.add(DOOR_FILE_TWO);
-		manager.load(DOOR_CLOSED_FILE_TWO, Texture.class);
-		assets.add(DOOR_CLOSED_FILE_TWO);
-		manager.load(DOOR_FILE_THREE, Texture.class);
-		assets.add(DOOR_FILE_THREE);
-		manager.load(DOOR_CLOSED_FILE_THREE, Texture.class);
-		assets.add(DOOR_CLOSED_FILE_THREE);
-		manager.load(DOOR_FLASHING_STRIP, Texture.class);
-		assets.add(DOOR_FLASHING_STRIP);
-		manager.load(DOLL_STRIP_LEFT, Texture.class);
-		assets.add(DOLL_STRIP_LEFT);
-		manager.load(DOLL_STRIP_RIGHT, Texture.class);
-		assets.add(DOLL_STRIP_RIGHT);
-		manager.load(DOLL_STRIP_FRONT, Texture.class);
-		assets.add(DOLL_STRIP_FRONT);
-		manager.load(DOLL_STRIP_BACK, Texture.class);
-		assets.add(DOLL_STRIP_BACK);
-		manager.load(DOLL_EATING_STRIP_LEFT, Texture.class);
-		assets.add(DOLL_EATING_STRIP_LEFT);
-		manager.load(DOLL_EATING_STRIP_RIGHT, Texture.class);
-		assets.add(DOLL_EATING_STRIP_RIGHT);
-		manager.load(DOLL_EATING_STRIP_FRONT, Texture.class);
-		assets.add(DOLL_EATING_STRIP_FRONT);
-		manager.load(DOLL_EATING_STRIP_BACK, Texture.class);
-		assets.add(DOLL_EATING_STRIP_BACK);
-		manager.load(DOLL_CLONING_STRIP_FRONT, Texture.class);
-		assets.add(DOLL_CLONING_STRIP_FRONT);
-		manager.load(DOLL_IDLE_STRIP_FRONT, Texture.class);
-		assets.add(DOLL_IDLE_STRIP_FRONT);
-		manager.load(DOLL_IDLE_STRIP_RIGHT, Texture.class);
-		assets.add(DOLL_IDLE_STRIP_RIGHT);
-		manager.load(DOLL_IDLE_STRIP_LEFT, Texture.class);
-		assets.add(DOLL_IDLE_STRIP_LEFT);
-		manager.load(DOLL_IDLE_STRIP_BACK, Texture.class);
-		assets.add(DOLL_IDLE_STRIP_BACK);
-		manager.load(CLONE_IDLE_STRIP, Texture.class);
-		assets.add(CLONE_IDLE_STRIP);
-		manager.load(HERBIVORE_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_STRIP_LEFT);
-		manager.load(HERBIVORE_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_STRIP_RIGHT);
-		manager.load(HERBIVORE_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_STRIP_FRONT);
-		manager.load(HERBIVORE_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_STRIP_BACK);
-		manager.load(HERBIVORE_DIVING_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_DIVING_STRIP_LEFT);
-		manager.load(HERBIVORE_SWIMMING_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_SWIMMING_STRIP_LEFT);
-		manager.load(HERBIVORE_SWIMMING_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_SWIMMING_STRIP_RIGHT);
-		manager.load(HERBIVORE_SWIMMING_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_SWIMMING_STRIP_BACK);
-		manager.load(HERBIVORE_SWIMMING_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_SWIMMING_STRIP_FRONT);
-		manager.load(HERBIVORE_ENEMY_SWIMMING_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_ENEMY_SWIMMING_STRIP_LEFT);
-		manager.load(HERBIVORE_ENEMY_SWIMMING_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_ENEMY_SWIMMING_STRIP_RIGHT);
-		manager.load(HERBIVORE_ENEMY_SWIMMING_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_ENEMY_SWIMMING_STRIP_BACK);
-		manager.load(HERBIVORE_ENEMY_SWIMMING_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_ENEMY_SWIMMING_STRIP_FRONT);
-		manager.load(HERBIVORE_GOING_IN_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_GOING_IN_STRIP_FRONT);
-		manager.load(HERBIVORE_GOING_IN_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_GOING_IN_STRIP_BACK);
-		manager.load(HERBIVORE_GOING_IN_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_GOING_IN_STRIP_LEFT);
-		manager.load(HERBIVORE_GOING_IN_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_GOING_IN_STRIP_RIGHT);
-		manager.load(HERBIVORE_GOING_OUT_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_GOING_OUT_STRIP_FRONT);
-		manager.load(HERBIVORE_GOING_OUT_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_GOING_OUT_STRIP_BACK);
-		manager.load(HERBIVORE_GOING_OUT_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_GOING_OUT_STRIP_RIGHT);
-		manager.load(HERBIVORE_GOING_OUT_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_GOING_OUT_STRIP_LEFT);
-		manager.load(HERBIVORE_EATING_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_EATING_STRIP_FRONT);
-		manager.load(HERBIVORE_EATING_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_EATING_STRIP_LEFT);
-		manager.load(HERBIVORE_EATING_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_EATING_STRIP_RIGHT);
-		manager.load(HERBIVORE_EATING_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_EATING_STRIP_BACK);
-		manager.load(HERBIVORE_PLACECAMO_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_PLACECAMO_STRIP_BACK);
-		manager.load(HERBIVORE_PLACECAMO_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_PLACECAMO_STRIP_FRONT);
-		manager.load(HERBIVORE_PLACECAMO_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_PLACECAMO_STRIP_RIGHT);
-		manager.load(HERBIVORE_PLACECAMO_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_PLACECAMO_STRIP_LEFT);
-		manager.load(HERBIVORE_CAMO_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_CAMO_STRIP_LEFT);
-		manager.load(HERBIVORE_CAMO_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_CAMO_STRIP_RIGHT);
-		manager.load(HERBIVORE_CAMO_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_CAMO_STRIP_BACK);
-		manager.load(HERBIVORE_CAMO_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_CAMO_STRIP_FRONT);
-		manager.load(HERBIVORE_IDLE_STRIP_FRONT, Texture.class);
-		assets.add(HERBIVORE_IDLE_STRIP_FRONT);
-		manager.load(HERBIVORE_IDLE_STRIP_RIGHT, Texture.class);
-		assets.add(HERBIVORE_IDLE_STRIP_RIGHT);
-		manager.load(HERBIVORE_IDLE_STRIP_LEFT, Texture.class);
-		assets.add(HERBIVORE_IDLE_STRIP_LEFT);
-		manager.load(HERBIVORE_IDLE_STRIP_BACK, Texture.class);
-		assets.add(HERBIVORE_IDLE_STRIP_BACK);
-		manager.load(CARNIVORE_STRIP_LEFT, Texture.class);
-		assets.add(CARNIVORE_STRIP_LEFT);
-		manager.load(CARNIVORE_STRIP_RIGHT, Texture.class);
-		assets.add(CARNIVORE_STRIP_RIGHT);
-		manager.load(CARNIVORE_STRIP_FRONT, Texture.class);
-		assets.add(CARNIVORE_STRIP_FRONT);
-		manager.load(CARNIVORE_STRIP_BACK, Texture.class);
-		assets.add(CARNIVORE_STRIP_BACK);
-		manager.load(CARNIVORE_EATING_STRIP_FRONT, Texture.class);
-		assets.add(CARNIVORE_EATING_STRIP_FRONT);
-		manager.load(CARNIVORE_EATING_STRIP_LEFT, Texture.class);
-		assets.add(CARNIVORE_EATING_STRIP_LEFT);
-		manager.load(CARNIVORE_EATING_STRIP_RIGHT, Texture.class);
-		assets.add(CARNIVORE_EATING_STRIP_RIGHT);
-		manager.load(CARNIVORE_EATING_STRIP_BACK, Texture.class);
-		assets.add(CARNIVORE_EATING_STRIP_BACK);
-		manager.load(CARNIVORE_CHARGE_STRIP_FRONT, Texture.class);
-		assets.add(CARNIVORE_CHARGE_STRIP_FRONT);
-		manager.load(CARNIVORE_CHARGE_STRIP_LEFT, Texture.class);
-		assets.add(CARNIVORE_CHARGE_STRIP_LEFT);
-		manager.load(CARNIVORE_CHARGE_STRIP_RIGHT, Texture.class);
-		assets.add(CARNIVORE_CHARGE_STRIP_RIGHT);
-		manager.load(CARNIVORE_CHARGE_STRIP_BACK, Texture.class);
-		assets.add(CARNIVORE_CHARGE_STRIP_BACK);
-		manager.load(CARNIVORE_ATTACK_STRIP_FRONT, Texture.class);
-		assets.add(CARNIVORE_ATTACK_STRIP_FRONT);
-		manager.load(CARNIVORE_ATTACK_STRIP_LEFT, Texture.class);
-		assets.add(CARNIVORE_ATTACK_STRIP_LEFT);
-		manager.load(CARNIVORE_ATTACK_STRIP_RIGHT, Texture.class);
-		assets.add(CARNIVORE_ATTACK_STRIP_RIGHT);
-		manager.load(CARNIVORE_ATTACK_STRIP_BACK, Texture.class);
-		assets.add(CARNIVORE_ATTACK_STRIP_BACK);
-		manager.load(CARNIVORE_IDLE_STRIP_FRONT, Texture.class);
-		assets.add(CARNIVORE_IDLE_STRIP_FRONT);
-		manager.load(CARNIVORE_IDLE_STRIP_RIGHT, Texture.class);
-		assets.add(CARNIVORE_IDLE_STRIP_RIGHT);
-		manager.load(CARNIVORE_IDLE_STRIP_LEFT, Texture.class);
-		assets.add(CARNIVORE_IDLE_STRIP_LEFT);
-		manager.load(CARNIVORE_IDLE_STRIP_BACK, Texture.class);
-		assets.add(CARNIVORE_IDLE_STRIP_BACK);
-		manager.load(DOLL_TO_HERB_STRIP, Texture.class);
-		assets.add(DOLL_TO_HERB_STRIP);
-		manager.load(DOLL_TO_CARN_STRIP, Texture.class);
-		assets.add(DOLL_TO_CARN_STRIP);
-		manager.load(HERB_TO_DOLL_STRIP, Texture.class);
-		assets.add(HERB_TO_DOLL_STRIP);
-		manager.load(HERB_TO_CARN_STRIP, Texture.class);
-		assets.add(HERB_TO_CARN_STRIP);
-		manager.load(CARN_TO_DOLL_STRIP, Texture.class);
-		assets.add(CARN_TO_DOLL_STRIP);
-		manager.load(CARN_TO_HERB_STRIP, Texture.class);
-		assets.add(CARN_TO_HERB_STRIP);
-		manager.load(WALL_FILE, Texture.class);
-		assets.add(WALL_FILE);
-		manager.load(WALL_2_FILE, Texture.class);
-		assets.add(WALL_2_FILE);
-		manager.load(WALL_3_FILE, Texture.class);
-		assets.add(WALL_3_FILE);
-		manager.load(EDIBLE_WALL_FILE, Texture.class);
-		assets.add(EDIBLE_WALL_FILE);
-		manager.load(EDIBLE_WALL_EATING_STRIP, Texture.class);
-		assets.add(EDIBLE_WALL_EATING_STRIP);
-		manager.load(COTTON_FLOWER_FILE, Texture.class);
-		assets.add(COTTON_FLOWER_FILE);
-		manager.load(ENEMY_STRIP_FRONT, Texture.class);
-		assets.add(ENEMY_STRIP_FRONT);
-		manager.load(ENEMY_STRIP_LEFT, Texture.class);
-		assets.add(ENEMY_STRIP_LEFT);
-		manager.load(ENEMY_STRIP_RIGHT, Texture.class);
-		assets.add(ENEMY_STRIP_RIGHT);
-		manager.load(ENEMY_STRIP_BACK, Texture.class);
-		assets.add(ENEMY_STRIP_BACK);
-		manager.load(ENEMY_STUNNED_STRIP_FRONT, Texture.class);
-		assets.add(ENEMY_STUNNED_STRIP_FRONT);
-		manager.load(ENEMY_STUNNED_STRIP_LEFT, Texture.class);
-		assets.add(ENEMY_STUNNED_STRIP_LEFT);
-		manager.load(ENEMY_STUNNED_STRIP_RIGHT, Texture.class);
-		assets.add(ENEMY_STUNNED_STRIP_RIGHT);
-		manager.load(ENEMY_STUNNED_STRIP_BACK, Texture.class);
-		assets.add(ENEMY_STUNNED_STRIP_BACK);
-		manager.load(ENEMY_CHARGE_STRIP_LEFT, Texture.class);
-		assets.add(ENEMY_CHARGE_STRIP_LEFT);
-		manager.load(ENEMY_CHARGE_STRIP_RIGHT, Texture.class);
-		assets.add(ENEMY_CHARGE_STRIP_RIGHT);
-		manager.load(ENEMY_CHARGE_STRIP_BACK, Texture.class);
-		assets.add(ENEMY_CHARGE_STRIP_BACK);
-		manager.load(ENEMY_CHARGE_STRIP_FRONT, Texture.class);
-		assets.add(ENEMY_CHARGE_STRIP_FRONT);
-		manager.load(ENEMY_ATTACK_STRIP_LEFT, Texture.class);
-		assets.add(ENEMY_ATTACK_STRIP_LEFT);
-		manager.load(ENEMY_ATTACK_STRIP_RIGHT, Texture.class);
-		assets.add(ENEMY_ATTACK_STRIP_RIGHT);
-		manager.load(ENEMY_ATTACK_STRIP_FRONT, Texture.class);
-		assets.add(ENEMY_ATTACK_STRIP_FRONT);
-		manager.load(ENEMY_ATTACK_STRIP_BACK, Texture.class);
-		assets.add(ENEMY_ATTACK_STRIP_BACK);
-		manager.load(ENEMY_LEFT_EATING_STRIP, Texture.class);
-		assets.add(ENEMY_LEFT_EATING_STRIP);
-		manager.load(ENEMY_EATING_STRIP_FRONT, Texture.class);
-		assets.add(ENEMY_EATING_STRIP_FRONT);
-		manager.load(ENEMY_EATING_STRIP_BACK, Texture.class);
-		assets.add(ENEMY_EATING_STRIP_BACK);
-		manager.load(ENEMY_EATING_STRIP_LEFT, Texture.class);
-		assets.add(ENEMY_EATING_STRIP_LEFT);
-		manager.load(ENEMY_EATING_STRIP_RIGHT, Texture.class);
-		assets.add(ENEMY_EATING_STRIP_RIGHT);
-		manager.load(UNKILLABLE_ENEMY_STRIP_FRONT, Texture.class);
-		assets.add(UNKILLABLE_ENEMY_STRIP_FRONT);
-		manager.load(UNKILLABLE_ENEMY_STRIP_LEFT, Texture.class);
-		assets.add(UNKILLABLE_ENEMY_STRIP_LEFT);
-		manager.load(UNKILLABLE_ENEMY_STRIP_RIGHT, Texture.class);
-		assets.add(UNKILLABLE_ENEMY_STRIP_RIGHT);
-		manager.load(UNKILLABLE_ENEMY_STRIP_BACK, Texture.class);
-		assets.add(UNKILLABLE_ENEMY_STRIP_BACK);
-		manager.load(VINE_DROP_STRIP, Texture.class);
-		assets.add(VINE_DROP_STRIP);
-		manager.load(EXCLAMATION_STRIP, Texture.class);
-		assets.add(EXCLAMATION_STRIP);
-		manager.load(FIREFLY_FILE, Texture.class);
-		assets.add(FIREFLY_FILE);
-		manager.load(FIREFLY_PURPLE_FILE, Texture.class);
-		assets.add(FIREFLY_PURPLE_FILE);
-		manager.load(FIREFLY_BLUE_FILE, Texture.class);
-		assets.add(FIREFLY_BLUE_FILE);
-		manager.load(FIREFLY_PINK_FILE, Texture.class);
-		assets.add(FIREFLY_PINK_FILE);
-		manager.load(ROCK_1_FILE, Texture.class);
-		assets.add(ROCK_1_FILE);
-		manager.load(ROCK_2_FILE, Texture.class);
-		assets.add(ROCK_2_FILE);
-		manager.load(ROCK_3_FILE, Texture.class);
-		assets.add(ROCK_3_FILE);
-		manager.load(FISH_1_FILE, Texture.class);
-		assets.add(FISH_1_FILE);
-		manager.load(FISH_2_FILE, Texture.class);
-		assets.add(FISH_2_FILE);
-		manager.load(FISH_3_FILE, Texture.class);
-		assets.add(FISH_3_FILE);
-		manager.load(LEAF_1_FILE, Texture.class);
-		assets.add(LEAF_1_FILE);
-		manager.load(LEAF_2_FILE, Texture.class);
-		assets.add(LEAF_2_FILE);
-		manager.load(PATH_FILE, Texture.class);
-		assets.add(PATH_FILE);
-		manager.load(SWITCH_FILE, Texture.class);
-		assets.add(SWITCH_FILE);
-		manager.load(SWITCH_FILE_ONE, Texture.class);
-		assets.add(SWITCH_FILE_ONE);
-		manager.load(SWITCH_FILE_TWO, Texture.class);
-		assets.add(SWITCH_FILE_TWO);
-		manager.load(SWITCH_FILE_THREE, Texture.class);
-		assets.add(SWITCH_FILE_THREE);
-		manager.load(RIVER_FILE, Texture.class);
-		assets.add(SWITCH_DOWN_FILE);
-		manager.load(SWITCH_DOWN_FILE, Texture.class);
-		assets.add(SWITCH_DOWN_FILE_ONE);
-		manager.load(SWITCH_DOWN_FILE_ONE, Texture.class);
-		assets.add(SWITCH_DOWN_FILE_TWO);
-		manager.load(SWITCH_DOWN_FILE_TWO, Texture.class);
-		assets.add(SWITCH_DOWN_FILE_THREE);
-		manager.load(SWITCH_DOWN_FILE_THREE, Texture.class);
-		assets.add(RIVER_FILE);
-		manager.load(BOULDER_FILE, Texture.class);
-		assets.add(BOULDER_FILE);
-		manager.load(VICTORY_FILE, Texture.class);
-		assets.add(VICTORY_FILE);
-		manager.load(GAMEOVER_FILE, Texture.class);
-		assets.add(GAMEOVER_FILE);
-		manager.load(TUTORIAL_FILE, Texture.class);
-		assets.add(TUTORIAL_FILE);
-		manager.load(PAUSE_MENU_FILE, Texture.class);
-		assets.add(PAUSE_MENU_FILE);
-		manager.load(GRAYOUT_FILE, Texture.class);
-		assets.add(GRAYOUT_FILE);
-		manager.load(MUSIC_OFF_FILE, Texture.class);
-		assets.add(MUSIC_OFF_FILE);
-		manager.load(MUSIC_ON_FILE, Texture.class);
-		assets.add(MUSIC_ON_FILE);
-		manager.load(SOUND_OFF_FILE, Texture.class);
-		assets.add(SOUND_OFF_FILE);
-		manager.load(SOUND_ON_FILE, Texture.class);
-		assets.add(SOUND_ON_FILE);
-		manager.load(MENU_FILE, Texture.class);
-		assets.add(MENU_FILE);
-		manager.load(HELP_FILE, Texture.class);
-		assets.add(HELP_FILE);
-		manager.load(RESUME_FILE, Texture.class);
-		assets.add(RESUME_FILE);
-		manager.load(RESTART_FILE, Texture.class);
-		assets.add(RESTART_FILE);
-		manager.load(HELP_MENU_FILE, Texture.class);
-		assets.add(HELP_MENU_FILE);
-		manager.load(OUTLINE_FILE, Texture.class);
-		assets.add(OUTLINE_FILE);
-		manager.load(EXIT_FILE, Texture.class);
-		assets.add(EXIT_FILE);
-		manager.load(ICON_DOLL_FILE, Texture.class);
-		assets.add(ICON_DOLL_FILE);
-		manager.load(ICON_HERBIVORE_FILE, Texture.class);
-		assets.add(ICON_HERBIVORE_FILE);
-		manager.load(ICON_CARNIVORE_FILE, Texture.class);
-		assets.add(ICON_CARNIVORE_FILE);
-		manager.load(ONE_FILE, Texture.class);
-		assets.add(ONE_FILE);
-		manager.load(TWO_FILE, Texture.class);
-		assets.add(TWO_FILE);
-		manager.load(THREE_FILE, Texture.class);
-		assets.add(THREE_FILE);
-		manager.load(SPACE_FILE, Texture.class);
-		assets.add(SPACE_FILE);
-		manager.load(DOLL_SPECIAL_FILE, Texture.class);
-		assets.add(DOLL_SPECIAL_FILE);
-		manager.load(HERBIVORE_SPECIAL_FILE, Texture.class);
-		assets.add(HERBIVORE_SPECIAL_FILE);
-		manager.load(CARNIVORE_SPECIAL_FILE, Texture.class);
-		assets.add(CARNIVORE_SPECIAL_FILE);
-		manager.load(DOLL_RESOURCE_FILE, Texture.class);
-		assets.add(DOLL_RESOURCE_FILE);
-		manager.load(HERBIVORE_RESOURCE_FILE, Texture.class);
-		assets.add(HERBIVORE_RESOURCE_FILE);
-		manager.load(CARNIVORE_RESOURCE_FILE, Texture.class);
-		assets.add(CARNIVORE_RESOURCE_FILE);
-		manager.load(DOLL_HEADER_FILE, Texture.class);
-		assets.add(DOLL_HEADER_FILE);
-		manager.load(HERBIVORE_HEADER_FILE, Texture.class);
-		assets.add(HERBIVORE_HEADER_FILE);
-		manager.load(CARNIVORE_HEADER_FILE, Texture.class);
-		assets.add(CARNIVORE_HEADER_FILE);
-		manager.load(DOLL_FORM_FILE, Texture.class);
-		assets.add(DOLL_FORM_FILE);
-		manager.load(HERBIVORE_FORM_FILE, Texture.class);
-		assets.add(HERBIVORE_FORM_FILE);
-		manager.load(CARNIVORE_FORM_FILE, Texture.class);
-		assets.add(CARNIVORE_FORM_FILE);
-		manager.load(HOLD_FILE, Texture.class);
-		assets.add(HOLD_FILE);
-		manager.load(PRESS_FILE, Texture.class);
-		assets.add(PRESS_FILE);
-		manager.load(SELECT_FILE, Texture.class);
-		assets.add(SELECT_FILE);
-		manager.load(DOLL_TRANSFORM_FILE, Texture.class);
-		assets.add(DOLL_TRANSFORM_FILE);
-		manager.load(HERBIVORE_TRANSFORM_FILE, Texture.class);
-		assets.add(HERBIVORE_TRANSFORM_FILE);
-		manager.load(CARNIVORE_TRANSFORM_FILE, Texture.class);
-		assets.add(CARNIVORE_TRANSFORM_FILE);
-		manager.load(DOLL_SPECIAL_TEXT_FILE, Texture.class);
-		assets.add(DOLL_SPECIAL_TEXT_FILE);
-		manager.load(HERBIVORE_SPECIAL_TEXT_FILE, Texture.class);
-		assets.add(HERBIVORE_SPECIAL_TEXT_FILE);
-		manager.load(CARNIVORE_SPECIAL_TEXT_FILE, Texture.class);
-		assets.add(CARNIVORE_SPECIAL_TEXT_FILE);
-		manager.load(EAT_FILE, Texture.class);
-		assets.add(EAT_FILE);
-		manager.load(RIVER_BOT_3_FILE, Texture.class);
-		assets.add(RIVER_BOT_3_FILE);
-		manager.load(RIVER_TOP_3_FILE, Texture.class);
-		assets.add(RIVER_TOP_3_FILE);
-		manager.load(RIVER_HOR_2_FILE, Texture.class);
-		assets.add(RIVER_HOR_2_FILE);
-        manager.load(RIVER_VERT_2_FILE, Texture.class);
-        assets.add(RIVER_VERT_2_FILE);
-		manager.load(RIVER_LEFT_3_FILE, Texture.class);
-		assets.add(RIVER_LEFT_3_FILE);
-		manager.load(RIVER_RIGHT_3_FILE, Texture.class);
-		assets.add(RIVER_RIGHT_3_FILE);
-		manager.load(RIVER_BOT_EDGE_FILE, Texture.class);
-		assets.add(RIVER_BOT_EDGE_FILE);
-		manager.load(RIVER_LEFT_EDGE_FILE, Texture.class);
-		assets.add(RIVER_LEFT_EDGE_FILE);
-		manager.load(RIVER_RIGHT_EDGE_FILE, Texture.class);
-		assets.add(RIVER_RIGHT_EDGE_FILE);
-		manager.load(RIVER_TOP_EDGE_FILE, Texture.class);
-		assets.add(RIVER_TOP_EDGE_FILE);
-		manager.load(RIVER_CENTER_FILE, Texture.class);
-		assets.add(RIVER_CENTER_FILE);
-		manager.load(RIVER_CORNER_LEFT_BOT_FILE, Texture.class);
-		assets.add(RIVER_CORNER_LEFT_BOT_FILE);
-		manager.load(RIVER_CORNER_LEFT_TOP_FILE, Texture.class);
-		assets.add(RIVER_CORNER_LEFT_TOP_FILE);
-		manager.load(RIVER_CORNER_RIGHT_BOT_FILE, Texture.class);
-		assets.add(RIVER_CORNER_RIGHT_BOT_FILE);
-		manager.load(RIVER_CORNER_RIGHT_TOP_FILE, Texture.class);
-		assets.add(RIVER_CORNER_RIGHT_TOP_FILE);
-		manager.load(CORNER_BOTTOM_LEFT, Texture.class);
-		assets.add(CORNER_BOTTOM_LEFT);
-		manager.load(CORNER_BOTTOM_RIGHT, Texture.class);
-		assets.add(CORNER_BOTTOM_RIGHT);
-		manager.load(CORNER_TOP_LEFT, Texture.class);
-		assets.add(CORNER_TOP_LEFT);
-		manager.load(CORNER_TOP_RIGHT, Texture.class);
-		assets.add(CORNER_TOP_RIGHT);
-		manager.load(LONG_VINE_FILE, Texture.class);
-		assets.add(LONG_VINE_FILE);
-        manager.load(WATER_SHINE_FILE, Texture.class);
-        assets.add(WATER_SHINE_FILE);
-        manager.load(SWING_IN_STRIP, Texture.class);
-        assets.add(SWING_IN_STRIP);
-        manager.load(SWING_OUT_STRIP, Texture.class);
-        assets.add(SWING_OUT_STRIP);
-		manager.load(TUT_ONE_A, Texture.class);
-		assets.add(TUT_ONE_A);
-		manager.load(TUT_ONE_B, Texture.class);
-		assets.add(TUT_ONE_B);
-		manager.load(TUT_ONE_C, Texture.class);
-		assets.add(TUT_ONE_C);
-		manager.load(TUT_ONE_D, Texture.class);
-		assets.add(TUT_ONE_D);
-		manager.load(TUT_ONE_E, Texture.class);
-		assets.add(TUT_ONE_E);
-		manager.load(TUT_ONE_F, Texture.class);
-		assets.add(TUT_ONE_F);
-		manager.load(TUT_TWO_A, Texture.class);
-		assets.add(TUT_TWO_A);
-		manager.load(TUT_TWO_B, Texture.class);
-		assets.add(TUT_TWO_B);
-		manager.load(TUT_TWO_C, Texture.class);
-		assets.add(TUT_TWO_C);
-		manager.load(TUT_TWO_D, Texture.class);
-		assets.add(TUT_TWO_D);
-		manager.load(TUT_TWO_E, Texture.class);
-		assets.add(TUT_TWO_E);
-		manager.load(TUT_TWO_F, Texture.class);
-		assets.add(TUT_TWO_F);
-		manager.load(TUT_THREE_A, Texture.class);
-		assets.add(TUT_THREE_A);
-		manager.load(TUT_THREE_B, Texture.class);
-		assets.add(TUT_THREE_B);
-		manager.load(TUT_THREE_C, Texture.class);
-		assets.add(TUT_THREE_C);
-		manager.load(TUT_THREE_D, Texture.class);
-		assets.add(TUT_THREE_D);
-		manager.load(TUT_FOUR_A, Texture.class);
-		assets.add(TUT_FOUR_A);
-		manager.load(TUT_FOUR_B, Texture.class);
-		assets.add(TUT_FOUR_B);
-		manager.load(TUT_SIX_A, Texture.class);
-		assets.add(TUT_SIX_A);
-		manager.load(TUT_SIX_B, Texture.class);
-		assets.add(TUT_SIX_B);
-		manager.load(TUT_SIX_C, Texture.class);
-		assets.add(TUT_SIX_C);
-		manager.load(TUT_SIX_D, Texture.class);
-		assets.add(TUT_SIX_D);
-		manager.load(TUT_SEVEN_A, Texture.class);
-		assets.add(TUT_SEVEN_A);
-		manager.load(TUT_SEVEN_B, Texture.class);
-		assets.add(TUT_SEVEN_B);
-		manager.load(TUT_SEVEN_C, Texture.class);
-		assets.add(TUT_SEVEN_C);
-		manager.load(TUT_SEVEN_D, Texture.class);
-		assets.add(TUT_SEVEN_D);
-		manager.load(TUT_EIGHT_A, Texture.class);
-		assets.add(TUT_EIGHT_A);
-		manager.load(TUT_NINE_A, Texture.class);
-		assets.add(TUT_NINE_A);
-        manager.load(TUT_NINE_B, Texture.class);
-        assets.add(TUT_NINE_B);
-        manager.load(FILLED_FILE, Texture.class);
-        assets.add(FILLED_FILE);
-        manager.load(UNFILLED_FILE, Texture.class);
-        assets.add(UNFILLED_FILE);
-        manager.load(TIMEOUT_FILE, Texture.class);
-        assets.add(TIMEOUT_FILE);
-        manager.load(BACK_TO_MENU, Texture.class);
-        assets.add(BACK_TO_MENU);
-        manager.load(NEXT_FILE, Texture.class);
-        assets.add(NEXT_FILE);
-        manager.load(RESTART_LEVEL_FILE, Texture.class);
-        assets.add(RESTART_LEVEL_FILE);
-        manager.load(DEAD_FILE, Texture.class);
-        assets.add(DEAD_FILE);
+		loadTexture(manager, BACKGROUND_FILE);
+		loadTexture(manager, OVERLAY_FILE);
+		loadTexture(manager, GREEN_DOOR_STRIP);
+		loadTexture(manager, YELLOW_DOOR_STRIP);
+		loadTexture(manager, BLUE_DOOR_STRIP);
+		loadTexture(manager, RED_DOOR_STRIP);
+		loadTexture(manager, GOAL_FILE);
+		loadTexture(manager, GOAL_CLOSED_FILE);
+		loadTexture(manager, DOOR_FILE_ONE);
+		loadTexture(manager, DOOR_CLOSED_FILE_ONE);
+		loadTexture(manager, DOOR_FILE_TWO);
+		loadTexture(manager, DOOR_CLOSED_FILE_TWO);
+		loadTexture(manager, DOOR_FILE_THREE);
+		loadTexture(manager, DOOR_CLOSED_FILE_THREE);
+		loadTexture(manager, DOOR_FLASHING_STRIP);
+		loadTexture(manager, DOLL_STRIP_LEFT);
+		loadTexture(manager, DOLL_STRIP_RIGHT);
+		loadTexture(manager, DOLL_STRIP_FRONT);
+		loadTexture(manager, DOLL_STRIP_BACK);
+		loadTexture(manager, DOLL_EATING_STRIP_LEFT);
+		loadTexture(manager, DOLL_EATING_STRIP_RIGHT);
+		loadTexture(manager, DOLL_EATING_STRIP_FRONT);
+		loadTexture(manager, DOLL_EATING_STRIP_BACK);
+		loadTexture(manager, DOLL_CLONING_STRIP_FRONT);
+		loadTexture(manager, DOLL_IDLE_STRIP_FRONT);
+		loadTexture(manager, DOLL_IDLE_STRIP_RIGHT);
+		loadTexture(manager, DOLL_IDLE_STRIP_LEFT);
+		loadTexture(manager, DOLL_IDLE_STRIP_BACK);
+		loadTexture(manager, CLONE_IDLE_STRIP);
+		loadTexture(manager, HERBIVORE_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_DIVING_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_SWIMMING_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_SWIMMING_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_SWIMMING_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_SWIMMING_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_ENEMY_SWIMMING_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_ENEMY_SWIMMING_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_ENEMY_SWIMMING_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_ENEMY_SWIMMING_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_GOING_IN_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_GOING_IN_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_GOING_IN_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_GOING_IN_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_GOING_OUT_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_GOING_OUT_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_GOING_OUT_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_GOING_OUT_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_EATING_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_EATING_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_EATING_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_EATING_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_PLACECAMO_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_PLACECAMO_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_PLACECAMO_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_PLACECAMO_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_CAMO_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_CAMO_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_CAMO_STRIP_BACK);
+		loadTexture(manager, HERBIVORE_CAMO_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_IDLE_STRIP_FRONT);
+		loadTexture(manager, HERBIVORE_IDLE_STRIP_RIGHT);
+		loadTexture(manager, HERBIVORE_IDLE_STRIP_LEFT);
+		loadTexture(manager, HERBIVORE_IDLE_STRIP_BACK);
+		loadTexture(manager, CARNIVORE_STRIP_LEFT);
+		loadTexture(manager, CARNIVORE_STRIP_RIGHT);
+		loadTexture(manager, CARNIVORE_STRIP_FRONT);
+		loadTexture(manager, CARNIVORE_STRIP_BACK);
+		loadTexture(manager, CARNIVORE_EATING_STRIP_FRONT);
+		loadTexture(manager, CARNIVORE_EATING_STRIP_LEFT);
+		loadTexture(manager, CARNIVORE_EATING_STRIP_RIGHT);
+		loadTexture(manager, CARNIVORE_EATING_STRIP_BACK);
+		loadTexture(manager, CARNIVORE_CHARGE_STRIP_FRONT);
+		loadTexture(manager, CARNIVORE_CHARGE_STRIP_LEFT);
+		loadTexture(manager, CARNIVORE_CHARGE_STRIP_RIGHT);
+		loadTexture(manager, CARNIVORE_CHARGE_STRIP_BACK);
+		loadTexture(manager, CARNIVORE_ATTACK_STRIP_FRONT);
+		loadTexture(manager, CARNIVORE_ATTACK_STRIP_LEFT);
+		loadTexture(manager, CARNIVORE_ATTACK_STRIP_RIGHT);
+		loadTexture(manager, CARNIVORE_ATTACK_STRIP_BACK);
+		loadTexture(manager, CARNIVORE_IDLE_STRIP_FRONT);
+		loadTexture(manager, CARNIVORE_IDLE_STRIP_RIGHT);
+		loadTexture(manager, CARNIVORE_IDLE_STRIP_LEFT);
+		loadTexture(manager, CARNIVORE_IDLE_STRIP_BACK);
+		loadTexture(manager, DOLL_TO_HERB_STRIP);
+		loadTexture(manager, DOLL_TO_CARN_STRIP);
+		loadTexture(manager, HERB_TO_DOLL_STRIP);
+		loadTexture(manager, HERB_TO_CARN_STRIP);
+		loadTexture(manager, CARN_TO_DOLL_STRIP);
+		loadTexture(manager, CARN_TO_HERB_STRIP);
+		loadTexture(manager, WALL_FILE);
+		loadTexture(manager, WALL_2_FILE);
+		loadTexture(manager, WALL_3_FILE);
+		loadTexture(manager, EDIBLE_WALL_FILE);
+		loadTexture(manager, EDIBLE_WALL_EATING_STRIP);
+		loadTexture(manager, COTTON_FLOWER_FILE);
+		loadTexture(manager, ENEMY_STRIP_FRONT);
+		loadTexture(manager, ENEMY_STRIP_LEFT);
+		loadTexture(manager, ENEMY_STRIP_RIGHT);
+		loadTexture(manager, ENEMY_STRIP_BACK);
+		loadTexture(manager, ENEMY_STUNNED_STRIP_FRONT);
+		loadTexture(manager, ENEMY_STUNNED_STRIP_LEFT);
+		loadTexture(manager, ENEMY_STUNNED_STRIP_RIGHT);
+		loadTexture(manager, ENEMY_STUNNED_STRIP_BACK);
+		loadTexture(manager, ENEMY_CHARGE_STRIP_LEFT);
+		loadTexture(manager, ENEMY_CHARGE_STRIP_RIGHT);
+		loadTexture(manager, ENEMY_CHARGE_STRIP_BACK);
+		loadTexture(manager, ENEMY_CHARGE_STRIP_FRONT);
+		loadTexture(manager, ENEMY_ATTACK_STRIP_LEFT);
+		loadTexture(manager, ENEMY_ATTACK_STRIP_RIGHT);
+		loadTexture(manager, ENEMY_ATTACK_STRIP_FRONT);
+		loadTexture(manager, ENEMY_ATTACK_STRIP_BACK);
+		loadTexture(manager, ENEMY_LEFT_EATING_STRIP);
+		loadTexture(manager, ENEMY_EATING_STRIP_FRONT);
+		loadTexture(manager, ENEMY_EATING_STRIP_BACK);
+		loadTexture(manager, ENEMY_EATING_STRIP_LEFT);
+		loadTexture(manager, ENEMY_EATING_STRIP_RIGHT);
+		loadTexture(manager, UNKILLABLE_ENEMY_STRIP_FRONT);
+		loadTexture(manager, UNKILLABLE_ENEMY_STRIP_LEFT);
+		loadTexture(manager, UNKILLABLE_ENEMY_STRIP_RIGHT);
+		loadTexture(manager, UNKILLABLE_ENEMY_STRIP_BACK);
+		loadTexture(manager, VINE_DROP_STRIP);
+		loadTexture(manager, EXCLAMATION_STRIP);
+		loadTexture(manager, FIREFLY_FILE);
+		loadTexture(manager, FIREFLY_PURPLE_FILE);
+		loadTexture(manager, FIREFLY_BLUE_FILE);
+		loadTexture(manager, FIREFLY_PINK_FILE);
+		loadTexture(manager, ROCK_1_FILE);
+		loadTexture(manager, ROCK_2_FILE);
+		loadTexture(manager, ROCK_3_FILE);
+		loadTexture(manager, FISH_1_FILE);
+		loadTexture(manager, FISH_2_FILE);
+		loadTexture(manager, FISH_3_FILE);
+		loadTexture(manager, LEAF_1_FILE);
+		loadTexture(manager, LEAF_2_FILE);
+		loadTexture(manager, PATH_FILE);
+		loadTexture(manager, SWITCH_FILE);
+		loadTexture(manager, SWITCH_FILE_ONE);
+		loadTexture(manager, SWITCH_FILE_TWO);
+		loadTexture(manager, SWITCH_FILE_THREE);
+		loadTexture(manager, RIVER_FILE);
+		loadTexture(manager, SWITCH_DOWN_FILE);
+		loadTexture(manager, SWITCH_DOWN_FILE_ONE);
+		loadTexture(manager, SWITCH_DOWN_FILE_TWO);
+		loadTexture(manager, SWITCH_DOWN_FILE_THREE);
+		loadTexture(manager, BOULDER_FILE);
+		loadTexture(manager, VICTORY_FILE);
+		loadTexture(manager, GAMEOVER_FILE);
+		loadTexture(manager, TUTORIAL_FILE);
+		loadTexture(manager, PAUSE_MENU_FILE);
+		loadTexture(manager, GRAYOUT_FILE);
+		loadTexture(manager, MUSIC_OFF_FILE);
+		loadTexture(manager, MUSIC_ON_FILE);
+		loadTexture(manager, SOUND_OFF_FILE);
+		loadTexture(manager, SOUND_ON_FILE);
+		loadTexture(manager, MENU_FILE);
+		loadTexture(manager, HELP_FILE);
+		loadTexture(manager, RESUME_FILE);
+		loadTexture(manager, RESTART_FILE);
+		loadTexture(manager, HELP_MENU_FILE);
+		loadTexture(manager, OUTLINE_FILE);
+		loadTexture(manager, EXIT_FILE);
+		loadTexture(manager, ICON_DOLL_FILE);
+		loadTexture(manager, ICON_HERBIVORE_FILE);
+		loadTexture(manager, ICON_CARNIVORE_FILE);
+		loadTexture(manager, ONE_FILE);
+		loadTexture(manager, TWO_FILE);
+		loadTexture(manager, THREE_FILE);
+		loadTexture(manager, SPACE_FILE);
+		loadTexture(manager, DOLL_SPECIAL_FILE);
+		loadTexture(manager, HERBIVORE_SPECIAL_FILE);
+		loadTexture(manager, CARNIVORE_SPECIAL_FILE);
+		loadTexture(manager, DOLL_RESOURCE_FILE);
+		loadTexture(manager, HERBIVORE_RESOURCE_FILE);
+		loadTexture(manager, CARNIVORE_RESOURCE_FILE);
+		loadTexture(manager, DOLL_HEADER_FILE);
+		loadTexture(manager, HERBIVORE_HEADER_FILE);
+		loadTexture(manager, CARNIVORE_HEADER_FILE);
+		loadTexture(manager, DOLL_FORM_FILE);
+		loadTexture(manager, HERBIVORE_FORM_FILE);
+		loadTexture(manager, CARNIVORE_FORM_FILE);
+		loadTexture(manager, HOLD_FILE);
+		loadTexture(manager, PRESS_FILE);
+		loadTexture(manager, SELECT_FILE);
+		loadTexture(manager, DOLL_TRANSFORM_FILE);
+		loadTexture(manager, HERBIVORE_TRANSFORM_FILE);
+		loadTexture(manager, CARNIVORE_TRANSFORM_FILE);
+		loadTexture(manager, DOLL_SPECIAL_TEXT_FILE);
+		loadTexture(manager, HERBIVORE_SPECIAL_TEXT_FILE);
+		loadTexture(manager, CARNIVORE_SPECIAL_TEXT_FILE);
+		loadTexture(manager, EAT_FILE);
+		loadTexture(manager, RIVER_BOT_3_FILE);
+		loadTexture(manager, RIVER_TOP_3_FILE);
+		loadTexture(manager, RIVER_HOR_2_FILE);
+        loadTexture(manager, RIVER_VERT_2_FILE);
+		loadTexture(manager, RIVER_LEFT_3_FILE);
+		loadTexture(manager, RIVER_RIGHT_3_FILE);
+		loadTexture(manager, RIVER_BOT_EDGE_FILE);
+		loadTexture(manager, RIVER_LEFT_EDGE_FILE);
+		loadTexture(manager, RIVER_RIGHT_EDGE_FILE);
+		loadTexture(manager, RIVER_TOP_EDGE_FILE);
+		loadTexture(manager, RIVER_CENTER_FILE);
+		loadTexture(manager, RIVER_CORNER_LEFT_BOT_FILE);
+		loadTexture(manager, RIVER_CORNER_LEFT_TOP_FILE);
+		loadTexture(manager, RIVER_CORNER_RIGHT_BOT_FILE);
+		loadTexture(manager, RIVER_CORNER_RIGHT_TOP_FILE);
+		loadTexture(manager, CORNER_BOTTOM_LEFT);
+		loadTexture(manager, CORNER_BOTTOM_RIGHT);
+		loadTexture(manager, CORNER_TOP_LEFT);
+		loadTexture(manager, CORNER_TOP_RIGHT);
+		loadTexture(manager, LONG_VINE_FILE);
+        loadTexture(manager, WATER_SHINE_FILE);
+        loadTexture(manager, SWING_IN_STRIP);
+        loadTexture(manager, SWING_OUT_STRIP);
+		loadTexture(manager, TUT_ONE_A);
+		loadTexture(manager, TUT_ONE_B);
+		loadTexture(manager, TUT_ONE_C);
+		loadTexture(manager, TUT_ONE_D);
+		loadTexture(manager, TUT_ONE_E);
+		loadTexture(manager, TUT_ONE_F);
+		loadTexture(manager, TUT_TWO_A);
+		loadTexture(manager, TUT_TWO_B);
+		loadTexture(manager, TUT_TWO_C);
+		loadTexture(manager, TUT_TWO_D);
+		loadTexture(manager, TUT_TWO_E);
+		loadTexture(manager, TUT_TWO_F);
+		loadTexture(manager, TUT_THREE_A);
+		loadTexture(manager, TUT_THREE_B);
+		loadTexture(manager, TUT_THREE_C);
+		loadTexture(manager, TUT_THREE_D);
+		loadTexture(manager, TUT_FOUR_A);
+		loadTexture(manager, TUT_FOUR_B);
+		loadTexture(manager, TUT_SIX_A);
+		loadTexture(manager, TUT_SIX_B);
+		loadTexture(manager, TUT_SIX_C);
+		loadTexture(manager, TUT_SIX_D);
+		loadTexture(manager, TUT_SEVEN_A);
+		loadTexture(manager, TUT_SEVEN_B);
+		loadTexture(manager, TUT_SEVEN_C);
+		loadTexture(manager, TUT_SEVEN_D);
+		loadTexture(manager, TUT_EIGHT_A);
+		loadTexture(manager, TUT_NINE_A);
+        loadTexture(manager, TUT_NINE_B);
+        loadTexture(manager, FILLED_FILE);
+        loadTexture(manager, UNFILLED_FILE);
+        loadTexture(manager, TIMEOUT_FILE);
+        loadTexture(manager, BACK_TO_MENU);
+        loadTexture(manager, NEXT_FILE);
+        loadTexture(manager, RESTART_LEVEL_FILE);
+        loadTexture(manager, DEAD_FILE);
 
 		jsonReader = new JsonReader();
 	}
@@ -979,6 +742,16 @@ public class GameController implements ContactListener, Screen {
 		else
 			tutorialFont = null;
 
+		if (manager.isLoaded(SPRITE_ATLAS_FILE))
+			spriteAtlas = manager.get(SPRITE_ATLAS_FILE, TextureAtlas.class);
+		else
+			spriteAtlas = null;
+
+		if (manager.isLoaded(STRIP_ATLAS_FILE))
+			stripAtlas = manager.get(STRIP_ATLAS_FILE, TextureAtlas.class);
+		else
+			stripAtlas = null;
+
 		// Allocate the textures
 		textureDict.put("background", createTexture(manager,BACKGROUND_FILE,false));
 		textureDict.put("overlay", createTexture(manager,OVERLAY_FILE,false));
@@ -1250,6 +1023,13 @@ public class GameController implements ContactListener, Screen {
 	 * @return a newly loaded texture region for the given file.
 	 */
 	private TextureRegion createTexture(AssetManager manager, String file, boolean repeat) {
+		TextureRegion packed = findPackedRegion(file, spriteAtlas, spriteRegions, stripAtlas, stripRegions);
+		if (packed != null) {
+			// Regions of an atlas page cannot repeat; such files have to be left out of the atlas
+			if (repeat)
+				Gdx.app.error("GameController", "Packed texture cannot repeat: " + file, new IllegalArgumentException());
+			return packed;
+		}
 		if (manager.isLoaded(file)) {
 			TextureRegion region = new TextureRegion(manager.get(file, Texture.class));
 			region.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Nearest);
@@ -1261,15 +1041,95 @@ public class GameController implements ContactListener, Screen {
 		return null;
 	}
 
-	private Texture createFilmTexture(AssetManager manager, String file) {
+	/**
+	 * Returns the texture region holding the animation frames in the given file.
+	 *
+	 * @param manager 	Reference to global asset manager.
+	 * @param file		The filmstrip image file
+	 *
+	 * @return the region of the atlas or of the loaded texture holding the frames.
+	 */
+	private TextureRegion createFilmTexture(AssetManager manager, String file) {
+		TextureRegion packed = findPackedRegion(file, stripAtlas, stripRegions, spriteAtlas, spriteRegions);
+		if (packed != null)
+			return packed;
 		if (manager.isLoaded(file)) {
 			Texture texture = manager.get(file, Texture.class);
 			texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-			return texture;
+			return new TextureRegion(texture);
 		}
 		return null;
 	}
 
+	/**
+	 * Queues an atlas for loading, if it has been built.
+	 *
+	 * Its region names are read now so that the files packed into it are not loaded a
+	 * second time.
+	 *
+	 * @param manager 	Reference to global asset manager.
+	 * @param file		The atlas file
+	 * @param regions	The set to fill with the names of its regions
+	 */
+	private void loadAtlas(AssetManager manager, String file, ObjectSet<String> regions) {
+		FileHandle atlasFile = Gdx.files.internal(file);
+		if (!atlasFile.exists())
+			return;
+
+		TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(atlasFile, atlasFile.parent(), false);
+		for (TextureAtlas.TextureAtlasData.Region region : data.getRegions())
+			regions.add(region.name);
+		manager.load(file, TextureAtlas.class);
+		assets.add(file);
+	}
+
+	/**
+	 * Queues a texture file for loading, unless it is packed into an atlas.
+	 *
+	 * @param manager 	Reference to global asset manager.
+	 * @param file		The texture file
+	 */
+	private void loadTexture(AssetManager manager, String file) {
+		String name = regionName(file);
+		if (name != null && (spriteRegions.contains(name) || stripRegions.contains(name)))
+			return;
+		manager.load(file, Texture.class);
+		assets.add(file);
+	}
+
+	/**
+	 * Returns the atlas region packed from the given file, or null if it is in neither atlas.
+	 *
+	 * The file is looked up in the preferred atlas first. The other atlas is only used if the
+	 * packer put the file there, in which case it is drawn with that atlas' filtering.
+	 *
+	 * @param file		The texture file
+	 */
+	private static TextureRegion findPackedRegion(String file, TextureAtlas preferred, ObjectSet<String> preferredRegions,
+			TextureAtlas other, ObjectSet<String> otherRegions) {
+		String name = regionName(file);
+		if (name == null)
+			return null;
+		if (preferred != null && preferredRegions.contains(name))
+			return preferred.findRegion(name);
+		if (other != null && otherRegions.contains(name))
+			return other.findRegion(name);
+		return null;
+	}
+
+	/**
+	 * Returns the name the packer gives the region of the given file, or null if the
+	 * file is not in the packed directory.
+	 *
+	 * @param file		The texture file
+	 */
+	private static String regionName(String file) {
+		if (!file.startsWith(ATLAS_DIR) || file.indexOf('/', ATLAS_DIR.length()) != -1)
+			return null;
+		int end = file.lastIndexOf('.');
+		return file.substring(ATLAS_DIR.length(), end > ATLAS_DIR.length() ? end : file.length());
+	}
+
 	/**
 	 * Returns a newly loaded filmstrip for the given file.
 	 *
@@ -1546,6 +1406,8 @@ public class GameController implements ContactListener, Screen {
 	public boolean preUpdate(float dt) {
 		InputHandler input = InputHandler.getInstance();
 		input.readInput();
+		if (input.didDebug())
+			canvas.setRenderStatsEnabled(!canvas.isRenderStatsEnabled());
 		if (listener == null)
 			return true;
 
@@ -1583,6 +1445,7 @@ public class GameController implements ContactListener, Screen {
 	public void postUpdate(float dt) {
 		// Turn the physics engine crank.
 		world.step(WORLD_STEP,WORLD_VELOC,WORLD_POSIT);
+		level.updateEnemyOccupancy();
 
 		// Garbage collect the deleted objects.
 		Iterator<PooledList<GameObject>.Entry> iterator = level.getObjects().entryIterator();
@@ -1595,13 +1458,16 @@ public class GameController implements ContactListener, Screen {
 					level.removeObject(g);
 
 					if (g.getType() == ENEMY)
-						controls.remove(((Enemy) g).getController());
+						controls.removeValue(((Enemy) g).getController());
 				}
 			}
 
 			if (g.isRemoved()) {
 				g.deactivatePhysics(world);
-				entry.remove();
+				if (g.getObjectEntry() == entry) {
+					g.setObjectEntry(null);
+					entry.remove();
+				}
 			} else {
 				g.update(dt);
 			}
@@ -2010,6 +1876,11 @@ public class GameController implements ContactListener, Screen {
 				}
 				draw(delta);
 				hud.draw();
+				if (canvas.isRenderStatsEnabled() && tutorialFont != null) {
+					canvas.beginOverlay();
+					canvas.drawRenderStats(tutorialFont, 10, canvas.getHeight() - 90);
+					canvas.end();
+				}
 			}
 		}
 	}
@@ -2128,7 +1999,7 @@ public class GameController implements ContactListener, Screen {
 		else {
 			if (level.getSwitches().size() == 0) {
 				level.getAvatar().setCanExit(true);
-				level.getDoor(0).setLowered(true);
+				level.setDoorLowered(level.getDoor(0), true);
 				level.getDoor(0).setTexture(textureDict.get("goalOpenTile"));
 
 			}
@@ -2143,7 +2014,7 @@ public class GameController implements ContactListener, Screen {
 								level.getAvatar().setCanExit(true);
 							}
 
-							level.getDoor(i).setLowered(true);
+							level.setDoorLowered(level.getDoor(i), true);
 							if (i == 0) {
 								level.getDoor(i).setTexture(textureDict.get("goalOpenTile"));
                                 level.getSwitch(0).setTexture(textureDict.get("switchoff"));
@@ -2165,7 +2036,7 @@ public class GameController implements ContactListener, Screen {
 							if (i == 0){
 								level.getAvatar().setCanExit(false);
 							}
-							level.getDoor(i).setLowered(false);
+							level.setDoorLowered(level.getDoor(i), false);
 							if (i == 0) {
 								level.getDoor(i).setTexture(textureDict.get("goalClosedTile"));
                                 level.getSwitch(0).setTexture(textureDict.get("switch"));
@@ -2192,7 +2063,7 @@ public class GameController implements ContactListener, Screen {
 							if (i == 0) {
 								level.getAvatar().setCanExit(true);
 							}
-							level.getDoor(i).setLowered(true);
+							level.setDoorLowered(level.getDoor(i), true);
 							if (i == 0) {
 								level.getDoor(i).setTexture(textureDict.get("goalOpenTile"));
 								level.getSwitch(0).setTexture(textureDict.get("switchoff"));
@@ -2211,7 +2082,7 @@ public class GameController implements ContactListener, Screen {
 							if (i == 0) {
 								level.getAvatar().setCanExit(false);
 							}
-							level.getDoor(i).setLowered(false);
+							level.setDoorLowered(level.getDoor(i), false);
 							if (i == 0) {
 								level.getDoor(i).setTexture(textureDict.get("goalClosedTile"));
 								level.getSwitch(0).setTexture(textureDict.get("switch"));
@@ -3389,6 +3260,8 @@ public class GameController implements ContactListener, Screen {
 			rayhandler = null;
 		}
 
+		if (level != null)
+			level.dispose();
 		world.dispose();
 		controls.clear();
 		fireFlyControls.clear();
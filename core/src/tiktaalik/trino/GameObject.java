@@ -5,6 +5,7 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import tiktaalik.util.PooledList;
 
 /**
  * Base model class to support collisions.
@@ -36,6 +37,11 @@ public abstract class GameObject {
 
     private int type;
 
+    private PooledList<GameObject>.Entry objectEntry; // This object's node in the level object list
+    private int categoryIndex = -1; // This object's slot in its level category list
+    private PooledList<GameObject>.Entry drawEntry; // This object's node in the level draw queue
+    private int drawBucket = -1; // The draw queue bucket holding drawEntry
+
     /// BodyDef Methods
     /**
      * Returns the body type for Box2D physics
@@ -662,6 +668,78 @@ public abstract class GameObject {
         toRemove = value;
     }
 
+    /**
+     * Returns this object's node in the level object list, or null if it is not in the level
+     *
+     * @return this object's node in the level object list
+     */
+    public PooledList<GameObject>.Entry getObjectEntry() {
+        return objectEntry;
+    }
+
+    /**
+     * Sets this object's node in the level object list
+     *
+     * @param entry this object's node in the level object list, or null
+     */
+    public void setObjectEntry(PooledList<GameObject>.Entry entry) {
+        objectEntry = entry;
+    }
+
+    /**
+     * Returns this object's slot in its level category list (walls, enemies, ...), or -1
+     *
+     * @return this object's slot in its level category list
+     */
+    public int getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    /**
+     * Sets this object's slot in its level category list
+     *
+     * @param index this object's slot in its level category list, or -1
+     */
+    public void setCategoryIndex(int index) {
+        categoryIndex = index;
+    }
+
+    /**
+     * Returns this object's node in the level's draw queue, or null if it is not in it
+     *
+     * @return this object's node in the level draw queue
+     */
+    public PooledList<GameObject>.Entry getDrawEntry() {
+        return drawEntry;
+    }
+
+    /**
+     * Sets this object's node in the level's draw queue
+     *
+     * @param entry this object's node in the level draw queue, or null
+     */
+    public void setDrawEntry(PooledList<GameObject>.Entry entry) {
+        drawEntry = entry;
+    }
+
+    /**
+     * Returns the draw queue bucket holding this object, or -1
+     *
+     * @return the draw queue bucket holding this object
+     */
+    public int getDrawBucket() {
+        return drawBucket;
+    }
+
+    /**
+     * Sets the draw queue bucket holding this object
+     *
+     * @param bucket the draw queue bucket holding this object, or -1
+     */
+    public void setDrawBucket(int bucket) {
+        drawBucket = bucket;
+    }
+
     /**
      * Returns true if the shape information must be updated.
      *
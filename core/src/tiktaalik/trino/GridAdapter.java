@@ -0,0 +1,21 @@
+package tiktaalik.trino;
+
+/**
+ * An empty implementation of GridListener.
+ *
+ * Subclass this to only handle the grid events you care about.
+ */
+public class GridAdapter implements GridListener {
+
+    public void cellChanged(int x, int y) {
+    }
+
+    public void cellCleared(int x, int y, GameObject object) {
+    }
+
+    public void objectMoved(GameObject object, int fromX, int fromY, int toX, int toY) {
+    }
+
+    public void doorToggled(GameObject door, boolean lowered) {
+    }
+}
@@ -0,0 +1,49 @@
+package tiktaalik.trino;
+
+/**
+ * A listener for changes to the contents of the level grid.
+ *
+ * Register with Level.addGridListener to be told whenever a cell is cleared,
+ * filled, or a door on it is raised or lowered. Every change is reported through
+ * cellChanged first; the typed callbacks that follow describe what happened, for
+ * listeners that can update more precisely. Extend GridAdapter to only override
+ * the callbacks you need.
+ */
+public interface GridListener {
+
+    /**
+     * The contents or passability of the given cell have changed.
+     *
+     * @param x The grid column of the cell
+     * @param y The grid row of the cell
+     */
+    public void cellChanged(int x, int y);
+
+    /**
+     * An object was removed from the given cell, leaving it empty.
+     *
+     * @param x The grid column of the cell
+     * @param y The grid row of the cell
+     * @param object The object that used to be there
+     */
+    public void cellCleared(int x, int y, GameObject object);
+
+    /**
+     * An object moved from one cell to another, such as a pushed boulder.
+     *
+     * @param object The object that moved
+     * @param fromX The grid column it left
+     * @param fromY The grid row it left
+     * @param toX The grid column it entered
+     * @param toY The grid row it entered
+     */
+    public void objectMoved(GameObject object, int fromX, int fromY, int toX, int toY);
+
+    /**
+     * A door was raised or lowered.
+     *
+     * @param door The door that changed
+     * @param lowered Whether the door is now lowered (passable)
+     */
+    public void doorToggled(GameObject door, boolean lowered);
+}
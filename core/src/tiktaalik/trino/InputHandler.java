@@ -124,6 +124,15 @@ public class InputHandler {
 		return nightPressed && !nightPrevious;
 	}
 
+	/**
+	 * Returns true if the debug button was pressed.
+	 *
+	 * @return true if the debug button was pressed.
+	 */
+	public boolean didDebug() {
+		return debugPressed && !debugPrevious;
+	}
+
 	/**
 	 * Returns true if the pause button was pressed.
 	 *
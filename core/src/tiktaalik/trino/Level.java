@@ -10,7 +10,6 @@ import tiktaalik.trino.duggi.Carnivore;
 import tiktaalik.trino.level_editor.LevelParser;
 import tiktaalik.trino.level_editor.LevelParser.*;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
@@ -18,6 +17,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntIntMap;
 import tiktaalik.trino.duggi.Clone;
 import tiktaalik.trino.duggi.Dinosaur;
 import tiktaalik.trino.duggi.Doll;
@@ -26,36 +26,59 @@ import tiktaalik.trino.environment.*;
 import tiktaalik.trino.level_editor.SaveFileParser;
 import tiktaalik.trino.lights.LightSource;
 import tiktaalik.trino.lights.PointSource;
+import tiktaalik.util.AStar;
+import tiktaalik.util.ChunkedBits;
+import tiktaalik.util.ChunkedGrid;
+import tiktaalik.util.DistanceField;
+import tiktaalik.util.IntPairList;
+import tiktaalik.util.VisibilityMap;
 import tiktaalik.util.PooledList;
+import tiktaalik.util.SwapList;
 
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Hashtable;
 import java.util.Iterator;
 
 public class Level {
     private static final float DEFAULT_WIDTH  = 32.0f; // Width of the game world in Box2d units
     private static final float DEFAULT_HEIGHT = 9.0f; // Height of the game world in Box2d units
+    public static final int CHUNK_SIZE = 16; // Width and height in cells of a grid chunk
+    private static final int BACKGROUND_OFFSET = 1270; // x of the second copy of the background
 
     protected PooledList<GameObject> objects  = new PooledList<GameObject>(); // All the objects in the world
     protected PooledList<GameObject> groundObjects  = new PooledList<GameObject>(); // List of ground-level draw objects
-    protected PooledList<GameObject> blockObjects = new PooledList<GameObject>(); // Sortable list of objects for draw
-
-    private PooledList<Wall> walls = new PooledList<Wall>();
-    private PooledList<CottonFlower> cottonFlowers = new PooledList<CottonFlower>();
-    private PooledList<River> rivers = new PooledList<River>();
-    private PooledList<Boulder> boulders = new PooledList<Boulder>();
-    private PooledList<Enemy> enemies = new PooledList<Enemy>();
-    private PooledList<FireFly> fireFlies = new PooledList<FireFly>();
-    private PooledList<Switch> switches = new PooledList<Switch>();
-    private PooledList<Wall> doors = new PooledList<Wall>();
+    protected DrawQueue drawQueue; // Back-to-front order of the objects standing up from the level
+
+    private SwapList<Wall> walls = new SwapList<Wall>();
+    private SwapList<CottonFlower> cottonFlowers = new SwapList<CottonFlower>();
+    private SwapList<River> rivers = new SwapList<River>();
+    private SwapList<Boulder> boulders = new SwapList<Boulder>();
+    private SwapList<Enemy> enemies = new SwapList<Enemy>();
+    private SwapList<FireFly> fireFlies = new SwapList<FireFly>();
+    private SwapList<Switch> switches = new SwapList<Switch>();
+    private SwapList<Wall> doors = new SwapList<Wall>();
     private PooledList<River> patchRivers = new PooledList<River>();
 
-    private GameObject[][] grid;
-    private PooledList<Vector2> cottonFlowerList = new PooledList<Vector2>();//for shadow duggi
-    private boolean[][] enemyLocation;
+    private ChunkedGrid<GameObject> grid;
+    private IntPairList cottonFlowerList = new IntPairList();//for shadow duggi
+    private IntPairList assetCells = new IntPairList(); // Asset coordinates read by the level loader
+    private IntIntMap enemyCounts = new IntIntMap(); // Number of enemies on each occupied cell x * height + y
+    // Per-cell occupancy layers, one bit per cell, kept in chunks like the grid itself
+    private ChunkedBits blockedBits;
+    private ChunkedBits sightBlockingBits;
+    private ChunkedBits riverBits;
+    private ChunkedBits edibleBits;
+    private ChunkedBits enemyBits;
     private Rectangle bounds;
     private Vector2 scale;
+    private AStar pathfinder;
+    private DistanceField avatarField;
+    private VisibilityMap visibility;
+    private long gridVersion;
+    private long[] chunkVersions; // Grid version of the last change in each chunk
+    private int chunksHigh;
+    private StaticLayer groundLayer; // Cached background, cotton and switches, under the shadows
+    private StaticLayer waterLayer; // Cached rivers, over the shadows
+    private PooledList<GridListener> gridListeners = new PooledList<GridListener>();
 
     private World world;
 
@@ -79,7 +102,9 @@ public class Level {
     private int oneStar;
 
     private Hashtable<String, TextureRegion> textureDict;
-    private Hashtable<String, Texture> filmStripDict;
+    private TextureRegion[] riverTiles; // River tile for each combination of River side neighbor bits
+    private TextureRegion[] riverPatches; // Inner corner patch textures, by River patch slot
+    private Hashtable<String, TextureRegion> filmStripDict;
 
     public Level(World world, int lvl) {
         this.bounds = new Rectangle(0, 0, DEFAULT_WIDTH, DEFAULT_HEIGHT);
@@ -87,8 +112,20 @@ public class Level {
         scale = new Vector2();
         locationCache = new Vector2();
         currentLevel = lvl;
-        grid = new GameObject[(int) bounds.width][(int) bounds.height];
-        enemyLocation = new boolean[(int) bounds.width][(int) bounds.height];
+        grid = new ChunkedGrid<GameObject>((int) bounds.width, (int) bounds.height, CHUNK_SIZE);
+        chunksHigh = ((int) bounds.height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkVersions = new long[(((int) bounds.width + CHUNK_SIZE - 1) / CHUNK_SIZE) * chunksHigh];
+        blockedBits = new ChunkedBits((int) bounds.width, (int) bounds.height, CHUNK_SIZE);
+        sightBlockingBits = new ChunkedBits((int) bounds.width, (int) bounds.height, CHUNK_SIZE);
+        riverBits = new ChunkedBits((int) bounds.width, (int) bounds.height, CHUNK_SIZE);
+        edibleBits = new ChunkedBits((int) bounds.width, (int) bounds.height, CHUNK_SIZE);
+        enemyBits = new ChunkedBits((int) bounds.width, (int) bounds.height, CHUNK_SIZE);
+        pathfinder = new AStar(this);
+        avatarField = new DistanceField(this);
+        visibility = new VisibilityMap(this);
+        groundLayer = new StaticLayer(this, false);
+        waterLayer = new StaticLayer(this, true);
+        drawQueue = new DrawQueue((int) bounds.height);
     }
 
     public int getCurrentLevel(){
@@ -107,69 +144,110 @@ public class Level {
         switch (g.getType()) {
             case WALL:
             case EDIBLEWALL:
-                walls.add((Wall) g);
+                g.setCategoryIndex(walls.add((Wall) g));
                 break;
             case COTTON:
-                cottonFlowers.add((CottonFlower) g);
+                g.setCategoryIndex(cottonFlowers.add((CottonFlower) g));
                 break;
             case ENEMY:
-                enemies.add((Enemy) g);
+                g.setCategoryIndex(enemies.add((Enemy) g));
+                ((Enemy) g).setLevel(this);
+                updateEnemyCell((Enemy) g);
                 break;
             case FIREFLY:
-                fireFlies.add((FireFly) g);
+                g.setCategoryIndex(fireFlies.add((FireFly) g));
                 break;
             case RIVER:
-                rivers.add((River) g);
+                g.setCategoryIndex(rivers.add((River) g));
                 break;
             case BOULDER:
-                boulders.add((Boulder) g);
+                g.setCategoryIndex(boulders.add((Boulder) g));
                 break;
             case SWITCH:
-                switches.add((Switch) g);
+                g.setCategoryIndex(switches.add((Switch) g));
                 break;
             case GOAL:
-                doors.add((Wall) g);
+                g.setCategoryIndex(doors.add((Wall) g));
                 break;
         }
 
-        objects.add(g);
+        g.setObjectEntry(objects.addEntry(g));
 
         if (g.getType() != COTTON && g.getType() != SWITCH)
             g.activatePhysics(world);
     }
 
     public void removeObject(GameObject g) {
+        // Already removed, or never added
+        if (g.getObjectEntry() == null)
+            return;
+
         switch (g.getType()) {
             case WALL:
             case EDIBLEWALL:
-                walls.remove(g);
-                grid[(int)((Wall)g).getGridLocation().x][(int)((Wall)g).getGridLocation().y] = null;
+                grid.set((int)((Wall)g).getGridLocation().x, (int)((Wall)g).getGridLocation().y, null);
+                fireCellCleared((int)((Wall)g).getGridLocation().x, (int)((Wall)g).getGridLocation().y, g);
                 break;
             case COTTON:
-                cottonFlowers.remove(g);
-                grid[(int)((CottonFlower)g).getGridLocation().x][(int)((CottonFlower)g).getGridLocation().y] = null;
+                grid.set((int)((CottonFlower)g).getGridLocation().x, (int)((CottonFlower)g).getGridLocation().y, null);
+                fireCellCleared((int)((CottonFlower)g).getGridLocation().x, (int)((CottonFlower)g).getGridLocation().y, g);
                 break;
             case ENEMY:
-                enemies.remove(g);
-                break;
-            case FIREFLY:
-                fireFlies.remove(g);
-                break;
-            case RIVER:
-                rivers.remove(g);
-                break;
-            case BOULDER:
-                boulders.remove(g);
+                ((Enemy) g).setLevel(null);
+                addEnemyCount(((Enemy) g).getOccupiedCell(), -1);
+                ((Enemy) g).setOccupiedCell(-1);
+                visibility.invalidate();
                 break;
             case CLONE:
                 clone.setRemoved(false);
                 clone = null;
                 break;
-            case SWITCH:
         }
 
+        // Unlink the object from its lists through its own handles instead of searching them
+        removeFromCategory(g);
+        if (g.getObjectEntry() != null) {
+            g.getObjectEntry().remove();
+            g.setObjectEntry(null);
+        }
         g.deactivatePhysics(world);
-        objects.remove(g);
+    }
+
+    /** Returns the category list holding objects of the given type, or null */
+    private SwapList<? extends GameObject> getCategory(int type) {
+        switch (type) {
+            case WALL:
+            case EDIBLEWALL:
+                return walls;
+            case COTTON:
+                return cottonFlowers;
+            case ENEMY:
+                return enemies;
+            case FIREFLY:
+                return fireFlies;
+            case RIVER:
+                return rivers;
+            case BOULDER:
+                return boulders;
+            case SWITCH:
+                return switches;
+            case GOAL:
+                return doors;
+        }
+        return null;
+    }
+
+    /** Swap-removes an object from its category list, updating the slot of the object moved into its place */
+    private void removeFromCategory(GameObject g) {
+        SwapList<? extends GameObject> list = getCategory(g.getType());
+        int index = g.getCategoryIndex();
+        if (list == null || index < 0)
+            return;
+
+        list.removeIndex(index);
+        if (index < list.size())
+            list.get(index).setCategoryIndex(index);
+        g.setCategoryIndex(-1);
     }
 
     public Rectangle getBounds() {
@@ -185,30 +263,263 @@ public class Level {
     }
 
     public GameObject getGridObject(int x, int y) {
-        return grid[x][y];
+        return grid.get(x, y);
     }
 
     public boolean setGridObject(int x, int y, GameObject g, boolean overwrite) {
-        if (grid[x][y] != null && !overwrite)
+        if (grid.get(x, y) != null && !overwrite)
             return false;
 
-        grid[x][y] = g;
+        GameObject old = grid.get(x, y);
+        grid.set(x, y, g);
+        if (g == null && old != null)
+            fireCellCleared(x, y, old);
+        else
+            fireCellChanged(x, y);
         return true;
     }
 
-    public GameObject[][] getGrid() { return grid; }
+    public ChunkedGrid<GameObject> getGrid() { return grid; }
+
+    /**
+     * Returns whether the given cell cannot be walked through.
+     *
+     * Cotton flowers, enemies, switches, fireflies and lowered doors do not block movement.
+     */
+    public boolean isBlocked(int x, int y) {
+        return !inGrid(x, y) || blockedBits.get(x, y);
+    }
+
+    public boolean isWalkable(int x, int y) {
+        return inGrid(x, y) && !blockedBits.get(x, y);
+    }
+
+    /** Returns whether the cell holds a river, wall, boulder or door, raised or not */
+    public boolean isSightBlocked(int x, int y) {
+        return sightBlockingBits.get(x, y);
+    }
+
+    public boolean isRiver(int x, int y) {
+        return riverBits.get(x, y);
+    }
+
+    public boolean isEdible(int x, int y) {
+        return edibleBits.get(x, y);
+    }
+
+    public boolean isEnemyOccupied(int x, int y) {
+        return enemyBits.get(x, y);
+    }
+
+    /**
+     * Returns whether any cell strictly between the two cells blocks sight.
+     *
+     * The cells must share a row or a column. Chunks holding no sight blocker are
+     * skipped without testing their cells.
+     */
+    public boolean isSightBlockedBetween(int x0, int y0, int x1, int y1) {
+        return anyBetween(sightBlockingBits, x0, y0, x1, y1);
+    }
+
+    /**
+     * Returns whether an enemy stands on any cell strictly between the two cells.
+     *
+     * The cells must share a row or a column.
+     */
+    public boolean isEnemyBetween(int x0, int y0, int x1, int y1) {
+        return anyBetween(enemyBits, x0, y0, x1, y1);
+    }
+
+    private static boolean anyBetween(ChunkedBits layer, int x0, int y0, int x1, int y1) {
+        if (x0 == x1)
+            return layer.any(x0, Math.min(y0, y1) + 1, x0, Math.max(y0, y1) - 1);
+        return layer.any(Math.min(x0, x1) + 1, y0, Math.max(x0, x1) - 1, y0);
+    }
+
+    private boolean inGrid(int x, int y) {
+        return x >= 0 && y >= 0 && x < getWidth() && y < getHeight();
+    }
+
+    /** Rederives every occupancy layer bit of a cell from its grid object */
+    private void updateLayers(int x, int y) {
+        GameObject g = grid.get(x, y);
+        int type = g == null ? -1 : g.getType();
+        boolean walkable;
+        switch (type) {
+            case -1:
+            case COTTON:
+            case ENEMY:
+            case SWITCH:
+            case FIREFLY:
+                walkable = true;
+                break;
+            case GOAL:
+                walkable = ((Wall) g).getLowered();
+                break;
+            default:
+                walkable = false;
+        }
+
+        boolean blocksSight = type == RIVER || type == WALL || type == EDIBLEWALL || type == BOULDER || type == GOAL;
+        boolean changedRiver = (type == RIVER) != riverBits.get(x, y);
+        blockedBits.set(x, y, !walkable);
+        sightBlockingBits.set(x, y, blocksSight);
+        riverBits.set(x, y, type == RIVER);
+        edibleBits.set(x, y, type == EDIBLEWALL);
+
+        if (changedRiver)
+            updateRiverTiles(x, y);
+        else if (g instanceof River)
+            updateRiverTile((River) g);
+    }
+
+    /**
+     * Returns how many steps it takes from the given cell to reach a sight blocker.
+     *
+     * A cell d steps away in that direction can be seen exactly when the result is at
+     * least d. If there is no blocker, this is the number of steps to leave the level.
+     * Nothing is stored per cell; the line is scanned in the sight layer, crossing each
+     * chunk without a blocker in one step.
+     *
+     * @param direction one of Dinosaur.LEFT, RIGHT, UP or DOWN
+     */
+    public int getSightDistance(int x, int y, int direction) {
+        int dx = direction == Dinosaur.LEFT ? -1 : direction == Dinosaur.RIGHT ? 1 : 0;
+        int dy = direction == Dinosaur.DOWN ? -1 : direction == Dinosaur.UP ? 1 : 0;
+        return sightBlockingBits.stepsToSet(x, y, dx, dy);
+    }
+
+    /** Raises or lowers a door, notifying grid listeners if its state changed */
+    public void setDoorLowered(Wall door, boolean lowered) {
+        if (door.getLowered() == lowered) {
+            door.setLowered(lowered);
+            return;
+        }
+
+        door.setLowered(lowered);
+        fireCellChanged((int) door.getGridLocation().x, (int) door.getGridLocation().y);
+        for (GridListener listener : gridListeners)
+            listener.doorToggled(door, lowered);
+    }
+
+    public void addGridListener(GridListener listener) {
+        gridListeners.add(listener);
+    }
+
+    public void removeGridListener(GridListener listener) {
+        gridListeners.remove(listener);
+    }
+
+    /** Returns a counter that increases every time a grid cell or door changes */
+    public long getGridVersion() { return gridVersion; }
+
+    /**
+     * Returns the grid version of the last change inside the chunk holding the given cell.
+     *
+     * A cache derived from part of the grid only needs rebuilding when a chunk it covers
+     * reports a newer version than the one it was built at.
+     */
+    public long getChunkVersion(int x, int y) {
+        return chunkVersions[(x / CHUNK_SIZE) * chunksHigh + y / CHUNK_SIZE];
+    }
+
+    private void fireCellChanged(int x, int y) {
+        updateLayers(x, y);
+        gridVersion++;
+        chunkVersions[(x / CHUNK_SIZE) * chunksHigh + y / CHUNK_SIZE] = gridVersion;
+        for (GridListener listener : gridListeners)
+            listener.cellChanged(x, y);
+    }
+
+    private void fireCellCleared(int x, int y, GameObject old) {
+        fireCellChanged(x, y);
+        for (GridListener listener : gridListeners)
+            listener.cellCleared(x, y, old);
+    }
+
+    /**
+     * Moves an object between grid cells and reports it as a single move.
+     *
+     * The source cell is only emptied if it still holds the object, and the object is only
+     * placed on the target cell if that cell is empty.
+     */
+    private void moveGridObject(GameObject g, int fromX, int fromY, int toX, int toY) {
+        if (grid.get(fromX, fromY) == g)
+            grid.set(fromX, fromY, null);
+        if (grid.get(toX, toY) == null)
+            grid.set(toX, toY, g);
+
+        fireCellChanged(fromX, fromY);
+        fireCellChanged(toX, toY);
+        for (GridListener listener : gridListeners)
+            listener.objectMoved(g, fromX, fromY, toX, toY);
+    }
+
+    public AStar getPathfinder() { return pathfinder; }
+
+    /**
+     * Returns the distance field towards the avatar, shared by every chasing enemy.
+     *
+     * The field is brought up to date on read rather than every tick, so it is only
+     * rebuilt when it is used after the avatar changed cells or the grid changed.
+     */
+    public DistanceField getAvatarField() {
+        if (avatar != null)
+            avatarField.update(getAvatarGridX(), getAvatarGridY());
+        return avatarField;
+    }
+
+    /**
+     * Returns the cells that see the avatar or the clone.
+     *
+     * Like the avatar field, the map is brought up to date on read, so an enemy always
+     * looks at the avatar, the clone and the other enemies where they stand now.
+     */
+    public VisibilityMap getVisibility() {
+        if (avatar != null) {
+            if (clone != null)
+                visibility.update(getAvatarGridX(), getAvatarGridY(), avatar.getCanBeSeen(),
+                        (int) clone.getGridLocation().x, (int) clone.getGridLocation().y);
+            else
+                visibility.update(getAvatarGridX(), getAvatarGridY(), avatar.getCanBeSeen(), -1, -1);
+        }
+        return visibility;
+    }
 
     public Dinosaur getAvatar() {
         return avatar;
     }
 
+    public Vector2 getScale() { return scale; }
+
     public int getLevelWidth(){return levelWidth;}
 
     public int getLevelHeight(){return levelHeight;}
 
+    /**
+     * Replaces the avatar, as when it transforms.
+     *
+     * The new avatar takes the old one's place in the object list together with the
+     * handles that locate it there, so it can later be removed like any other object.
+     * The old avatar is taken out of the draw queue and left holding no handles; the new
+     * one is queued by the next draw.
+     */
     public void setAvatar(Dinosaur avatar) {
+        Dinosaur old = this.avatar;
         this.avatar = avatar;
-        objects.set(1, this.avatar);
+        if (old == null || old == avatar)
+            return;
+        drawQueue.remove(old);
+        if (old.getObjectEntry() == null) {
+            objects.set(1, this.avatar);
+            return;
+        }
+
+        old.getObjectEntry().setValue(avatar);
+        avatar.setObjectEntry(old.getObjectEntry());
+        avatar.setCategoryIndex(old.getCategoryIndex());
+        old.setObjectEntry(null);
+        old.setCategoryIndex(-1);
     }
 
     public Clone getClone() {
@@ -239,11 +550,8 @@ public class Level {
             int targetGridY = gridY;
 
             if (d.getDirection() == Dinosaur.LEFT) {
-                if (getGridObject(gridX - 1, gridY) != null) {
-                    if (getGridObject(gridX - 1, gridY).getType() != GameController.COTTON &&
-                            getGridObject(gridX - 1, gridY).getType() != GameController.SWITCH)
-                        return;
-                }
+                if (!canBoulderEnter(gridX - 1, gridY))
+                    return;
 
                 if (isEnemyOnSquare(gridX - 1, gridY))
                     return;
@@ -252,11 +560,8 @@ public class Level {
                 targetGridX = gridX - 1;
             }
             else if (d.getDirection() == Dinosaur.RIGHT) {
-                if (getGridObject(gridX + 1, gridY) != null) {
-                    if (getGridObject(gridX + 1, gridY).getType() != GameController.COTTON &&
-                            getGridObject(gridX + 1, gridY).getType() != GameController.SWITCH)
-                        return;
-                }
+                if (!canBoulderEnter(gridX + 1, gridY))
+                    return;
 
                 if (isEnemyOnSquare(gridX + 1, gridY))
                     return;
@@ -265,11 +570,8 @@ public class Level {
                 targetGridX = gridX + 1;
             }
             else if (d.getDirection() == Dinosaur.UP) {
-                if (getGridObject(gridX, gridY + 1) != null) {
-                    if (getGridObject(gridX, gridY + 1).getType() != GameController.COTTON &&
-                            getGridObject(gridX, gridY + 1).getType() != GameController.SWITCH)
-                        return;
-                }
+                if (!canBoulderEnter(gridX, gridY + 1))
+                    return;
 
                 if (isEnemyOnSquare(gridX, gridY + 1))
                     return;
@@ -278,11 +580,8 @@ public class Level {
                 targetGridY = gridY + 1;
             }
             else if (d.getDirection() == Dinosaur.DOWN) {
-                if (getGridObject(gridX, gridY - 1) != null) {
-                    if (getGridObject(gridX, gridY - 1).getType() != GameController.COTTON &&
-                            getGridObject(gridX, gridY-1).getType() != GameController.SWITCH)
-                        return;
-                }
+                if (!canBoulderEnter(gridX, gridY - 1))
+                    return;
 
                 if (isEnemyOnSquare(gridX, gridY - 1))
                     return;
@@ -292,9 +591,7 @@ public class Level {
             }
 
             // Move the boulder on the grid. Do not null the grid tile if it is a cotton flower
-            if (getGridObject(gridX, gridY).getType() == GameController.BOULDER)
-                setGridObject(gridX, gridY, null, true);
-            setGridObject(targetGridX, targetGridY, b, false);
+            moveGridObject(b, gridX, gridY, targetGridX, targetGridY);
 
             b.setTargetDestination(targetX, targetY);
             b.setInMotion(true, ((Carnivore) d));
@@ -302,6 +599,16 @@ public class Level {
         }
     }
 
+    /**
+     * Returns whether a boulder may be pushed onto the given cell.
+     *
+     * Only cotton flowers and switches can share a cell with a boulder, and those are
+     * exactly the grid objects that do not block sight. Cells off the grid are refused.
+     */
+    private boolean canBoulderEnter(int x, int y) {
+        return inGrid(x, y) && !sightBlockingBits.get(x, y);
+    }
+
     //public Wall getGoalDoor() {
 //        return goalDoor;
 //    }
@@ -310,35 +617,35 @@ public class Level {
         return enemies.get(idx);
     }
 
-    public PooledList<Enemy> getEnemies() {
+    public SwapList<Enemy> getEnemies() {
         return enemies;
     }
 
     public Boulder getBoulder(int idx) { return boulders.get(idx); }
 
-    public PooledList<Boulder> getBoulders() { return boulders; }
+    public SwapList<Boulder> getBoulders() { return boulders; }
 
     public FireFly getFirefly(int idx) {
         return fireFlies.get(idx);
     }
 
-    public PooledList<FireFly> getFireFlies() {
+    public SwapList<FireFly> getFireFlies() {
         return fireFlies;
     }
 
     public Switch getSwitch(int idx) { return switches.get(idx); }
 
-    public PooledList<Switch> getSwitches() { return switches; }
+    public SwapList<Switch> getSwitches() { return switches; }
 
     public Wall getDoor(int idx) { return doors.get(idx); }
 
-    public PooledList<Wall> getDoors() { return doors; }
+    public SwapList<Wall> getDoors() { return doors; }
 
-    public PooledList<River> getRivers() {return rivers;}
+    public SwapList<River> getRivers() {return rivers;}
 
     public CottonFlower getCottonFlower(int idx) { return cottonFlowers.get(idx); }
 
-    public PooledList<CottonFlower> getCottonFlowers() { return cottonFlowers; }
+    public SwapList<CottonFlower> getCottonFlowers() { return cottonFlowers; }
 
     public PooledList<GameObject> getObjects() {
         return objects;
@@ -346,7 +653,7 @@ public class Level {
 
     public boolean getIsNight(){return isNight;}
 
-    public PooledList<Vector2>getCottonFlowerList(){return cottonFlowerList;}
+    public IntPairList getCottonFlowerList(){return cottonFlowerList;}
 
     public int getLevelTime() { return levelTime; }
 
@@ -356,9 +663,10 @@ public class Level {
         else return oneStar;
     }
 
-    public void populate(Hashtable<String, TextureRegion> textureDict, Hashtable<String, Texture> filmStripDict,
+    public void populate(Hashtable<String, TextureRegion> textureDict, Hashtable<String, TextureRegion> filmStripDict,
                          LightSource avatarLight, int canvasWidth, int canvasHeight){
         this.textureDict = textureDict;
+        buildRiverTiles();
         this.filmStripDict = filmStripDict;
         scale = new Vector2(canvasWidth/bounds.getWidth(), canvasHeight/bounds.getHeight());
 
@@ -388,18 +696,18 @@ public class Level {
         // Set permanent textures
         background = textureDict.get("background");
 
-        PooledList<Vector2> tmp = new PooledList<Vector2>();
+        IntPairList tmp = assetCells;
         // Create player character
         // It is important that this is always created first, as transformations must swap the first element
         // in the objects list
         dwidth = 80 / (scale.x * 2);
 
-        tmp = parser.getAssetList(currentLevel, "Player");
+        parser.getAssetList(currentLevel, "Player", tmp);
 
         int facing = parser.getPlayerInitialOrientation(currentLevel);
         for(int i = 0; i < tmp.size(); i++) {
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y - 1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i) - 1;
             avatar = new Doll(screenToMaze(x), screenToMaze(y), dwidth);
 
             avatar.setType(DUGGI);
@@ -435,63 +743,59 @@ public class Level {
         TextureRegion cottonTexture = textureDict.get("cotton");
         dwidth = cottonTexture.getRegionWidth() / scale.x;
         dheight = cottonTexture.getRegionHeight() / scale.y;
-        tmp = parser.getAssetList(currentLevel, "Cottons");
+        parser.getAssetList(currentLevel, "Cottons", tmp);
         for(int i = 0; i < tmp.size(); i++){
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y-1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i)-1;
             CottonFlower cf = new CottonFlower((int)x, (int)y, screenToMaze(x), screenToMaze(y), dwidth, dheight);
             cf.setBodyType(BodyDef.BodyType.StaticBody);
             cf.setDrawScale(scale);
             cf.setTexture(cottonTexture);
             cf.setType(COTTON);
             addObject(cf);
-            grid[(int)cf.getGridLocation().x][(int)cf.getGridLocation().y] = cf;
-            cottonFlowerList.add(new Vector2(cf.getGridLocation().x,cf.getGridLocation().y));
+            setGridObject((int)cf.getGridLocation().x, (int)cf.getGridLocation().y, cf, true);
+            cottonFlowerList.add((int)cf.getGridLocation().x, (int)cf.getGridLocation().y);
         }
 
         // Adding river
         dwidth = textureDict.get("river").getRegionWidth() / scale.x;
         dheight = textureDict.get("river").getRegionHeight() / scale.y;
-        tmp = parser.getAssetList(currentLevel, "Rivers");
+        parser.getAssetList(currentLevel, "Rivers", tmp);
         for(int i = 0; i < tmp.size(); i++){
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y-1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i)-1;
             River riv = new River((int)x, (int)y, screenToMaze(x), screenToMaze(y), dwidth, dheight, false);
             riv.setBodyType(BodyDef.BodyType.StaticBody);
             riv.setDrawScale(scale);
             riv.setTexture(textureDict.get("river"));
             riv.setType(RIVER);
             addObject(riv);
-            grid[(int)riv.getGridLocation().x][(int)riv.getGridLocation().y] = riv;
-        }
-        
-        for(River river:rivers){
-            setRiverTexture(river,textureDict);
+            setGridObject((int)riv.getGridLocation().x, (int)riv.getGridLocation().y, riv, true);
         }
 
         dwidth = textureDict.get("boulder").getRegionWidth() / scale.x;
         dheight = textureDict.get("boulder").getRegionHeight() / scale.y;
-        tmp = parser.getAssetList(currentLevel, "Boulders");
+        parser.getAssetList(currentLevel, "Boulders", tmp);
         for(int i = 0; i < tmp.size(); i++){
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y-1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i)-1;
             Boulder b = new Boulder((int)x, (int)y, screenToMaze(x), screenToMaze(y), dwidth, dheight, false);
             b.setBodyType(BodyDef.BodyType.StaticBody);
             b.setDrawScale(scale);
             b.setTexture(textureDict.get("boulder"));
             b.setType(BOULDER);
             addObject(b);
-            grid[(int)b.getGridLocation().x][(int)b.getGridLocation().y] = b;
+            setGridObject((int)b.getGridLocation().x, (int)b.getGridLocation().y, b, true);
         }
 
         // Switch
         dwidth = textureDict.get("switch").getRegionWidth() / scale.x;
         dheight = textureDict.get("switch").getRegionHeight() / scale.y;
         // Switch texture
-        tmp = parser.getAssetList(currentLevel, "Switch");
+        parser.getAssetList(currentLevel, "Switch", tmp);
         for(int i = 0; i < tmp.size(); i++){
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y-1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i)-1;
             Switch switches = new Switch((int)x, (int)y, screenToMaze(x), screenToMaze(y), dwidth, dheight);
             switches.setBodyType(BodyDef.BodyType.StaticBody);
             switches.setDrawScale(scale);
@@ -513,16 +817,16 @@ public class Level {
             }
             switches.setType(SWITCH);
             addObject(switches);
-            grid[(int)switches.getGridLocation().x][(int)switches.getGridLocation().y] = switches;
+            setGridObject((int)switches.getGridLocation().x, (int)switches.getGridLocation().y, switches, true);
         }
 
 
         dwidth = textureDict.get("wall").getRegionWidth() / scale.x;
         dheight = textureDict.get("wall").getRegionHeight() / scale.y;
-        tmp = parser.getAssetList(currentLevel, "Walls");
+        parser.getAssetList(currentLevel, "Walls", tmp);
         for(int i = 0; i < tmp.size(); i++){
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y - 1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i) - 1;
             Wall iw = new Wall((int)x, (int)y, screenToMaze(x), screenToMaze(y), dwidth, dheight, false);
             iw.setBodyType(BodyDef.BodyType.StaticBody);
             iw.setDrawScale(scale);
@@ -538,13 +842,13 @@ public class Level {
 
             iw.setType(WALL);
             addObject(iw);
-            grid[(int)iw.getGridLocation().x][(int)iw.getGridLocation().y] = iw;
+            setGridObject((int)iw.getGridLocation().x, (int)iw.getGridLocation().y, iw, true);
         }
 
-        tmp = parser.getAssetList(currentLevel, "EdibleWalls");
+        parser.getAssetList(currentLevel, "EdibleWalls", tmp);
         for(int i = 0; i < tmp.size(); i++) {
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y-1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i)-1;
             Wall ew = new Wall((int) x, (int) y, screenToMaze(x), screenToMaze(y), dwidth, dheight, true);
             ew.setBodyType(BodyDef.BodyType.StaticBody);
             ew.setDrawScale(scale);
@@ -552,16 +856,16 @@ public class Level {
             ew.setType(EDIBLEWALL);
             ew.setEatAnimation(filmStripDict.get("edibleWallEating"), 8);
             addObject(ew);
-            grid[(int) ew.getGridLocation().x][(int) ew.getGridLocation().y] = ew;
+            setGridObject((int) ew.getGridLocation().x, (int) ew.getGridLocation().y, ew, true);
         }
 
         // Add level goal
         dwidth = textureDict.get("goalOpenTile").getRegionWidth() / scale.x;
         dheight = textureDict.get("goalOpenTile").getRegionHeight() / scale.y;
-        tmp = parser.getAssetList(currentLevel, "Goal");
+        parser.getAssetList(currentLevel, "Goal", tmp);
         for(int i = 0; i < tmp.size(); i++) {
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y - 1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i) - 1;
             Wall goalDoor = new Wall((int) x, (int) y, screenToMaze(x), screenToMaze(y), dwidth, dheight, false);
             goalDoor.setBodyType(BodyDef.BodyType.StaticBody);
             //goalDoor.setSensor(true);
@@ -586,16 +890,16 @@ public class Level {
             }
 
             addObject(goalDoor);
-            grid[(int) goalDoor.getGridLocation().x][(int) goalDoor.getGridLocation().y] = goalDoor;
+            setGridObject((int) goalDoor.getGridLocation().x, (int) goalDoor.getGridLocation().y, goalDoor, true);
         }
 
         // Create enemy
-        dwidth = filmStripDict.get("enemyFront").getWidth() / (10 * (scale.x * 2));
-        tmp = parser.getAssetList(currentLevel, "Enemies");
+        dwidth = filmStripDict.get("enemyFront").getRegionWidth() / (10 * (scale.x * 2));
+        parser.getAssetList(currentLevel, "Enemies", tmp);
         PooledList<String[]> dir = parser.getEnemiesInformation(currentLevel);
         for(int i = 0; i < tmp.size(); i++) {
-            float x = (tmp.get(i)).x;
-            float y = (tmp.get(i)).y-1;
+            float x = tmp.getX(i);
+            float y = tmp.getY(i)-1;
             float offsetY = 0;
             String sd = dir.get(i)[0];
             String et = dir.get(i)[1];
@@ -666,7 +970,6 @@ public class Level {
             en.setGridLocation(x,y);
 
             addObject(en);
-            enemyLocation[(int)x][(int)y] = true;
         }
         
         dwidth = textureDict.get("fireFly").getRegionWidth() / (scale.x * 2);
@@ -694,52 +997,27 @@ public class Level {
     }
 
     public void draw(Canvas canvas) {
-        canvas.begin();
-
+        // Objects only change buckets of the draw queue when they change rows
         Iterator<PooledList<GameObject>.Entry> iterator = objects.entryIterator();
         while (iterator.hasNext()) {
-            PooledList<GameObject>.Entry entry = iterator.next();
-            GameObject g = entry.getValue();
-            if (g.getType() == COTTON || g.getType() == SWITCH ||
-                    (g.getType() == GOAL && ((Wall) g).getAnimLowered()))
-                groundObjects.add(entry.getValue());
-            else
-                blockObjects.add(entry.getValue());
-        }
-
-        Collections.sort(blockObjects, new Comparator<GameObject>() {
-            @Override
-            public int compare(GameObject g1, GameObject g2) {
-                if (g1.getType() == RIVER)
-                    return -1;
-                if (g2.getType() == RIVER)
-                    return 1;
-
-                if (((g1.getType() == WALL || g1.getType() == GOAL || g1.getType() == EDIBLEWALL) &&
-                        (g2.getType() == DUGGI || g2.getType() == CLONE || g2.getType() == ENEMY)) &&
-                        Math.abs(screenToMaze(g1.getY()) - screenToMaze(g2.getY())) <= 2)
-                    return -1;
-                if (((g2.getType() == WALL || g2.getType() == GOAL || g2.getType() == EDIBLEWALL) &&
-                        (g1.getType() == DUGGI || g1.getType() == CLONE || g1.getType() == ENEMY)) &&
-                        Math.abs(screenToMaze(g1.getY()) - screenToMaze(g2.getY())) <= 2)
-                    return 1;
-
-                if (g1.getType() == FIREFLY)
-                    return 1;
-                if (g2.getType() == FIREFLY)
-                    return -1;
-
-                if (Math.abs(g2.getY()*g2.getDrawScale().x - g1.getY()*g1.getDrawScale().x) < 0.1f)
-                    return (int)(g2.getX()*g2.getDrawScale().x - g1.getX()*g1.getDrawScale().x);
-
-                return (int)(g2.getY()*g2.getDrawScale().x - g1.getY()*g1.getDrawScale().x);
+            GameObject g = iterator.next().getValue();
+            if (isStaticObject(g))
+                continue;
+            if (isGroundObject(g)) {
+                drawQueue.remove(g);
+                groundObjects.add(g);
+            } else {
+                drawQueue.update(g);
             }
-        });
-        canvas.draw(background, 0, 0);
-        canvas.draw(background, 1270, 0);
-        canvas.end();
+        }
 
+        // The background, rivers, cotton and switches come from the cached layers
+        int layerWidth = Math.max(levelWidth, BACKGROUND_OFFSET + background.getRegionWidth());
+        int layerHeight = Math.max(levelHeight, background.getRegionHeight());
+        groundLayer.update(canvas, layerWidth, layerHeight);
+        waterLayer.update(canvas, layerWidth, layerHeight);
         canvas.begin();
+        groundLayer.draw(canvas);
         for(GameObject g : groundObjects)
             g.draw(canvas);
         canvas.end();
@@ -755,85 +1033,8 @@ public class Level {
         canvas.endShadows();
 
         canvas.begin();
-        for(GameObject g : blockObjects) {
-            g.draw(canvas);
-            if (g.getType() == RIVER && textureDict !=null) {
-
-                float dwidth = textureDict.get("river").getRegionWidth() / scale.x;
-                float dheight = textureDict.get("river").getRegionHeight() / scale.y;
-
-                // Patch up the corners of the rivers
-                if (setPatchRivers((River) g, textureDict) != null){
-                    TextureRegion[] list = setPatchRivers((River) g, textureDict);
-                    for (int i = 0; i < list.length; i++){
-                        if (list[i] != null){
-                            TextureRegion riverTexture = list[i];
-                            Vector2 origin = new Vector2(riverTexture.getRegionWidth()/2.0f, riverTexture.getRegionHeight()/2.0f);
-                            canvas.draw(riverTexture, Color.WHITE,origin.x,origin.y,(g.getX()
-                                    *g.getDrawScale().x),(g.getY()*g.getDrawScale().x) +12f,0,1,1);
-                        }
-                    }
-                }
-
-                // Add rocks
-                if (((River) g).getRock() == null && ((River)g).getHasRockOnit()){
-                    TextureRegion rock;
-                    int random = MathUtils.random(12);
-                    if (random == 0){
-                        rock = textureDict.get("rock1");
-                    }
-                    else if (random == 1){
-                        rock = textureDict.get("rock2");
-                    }
-                    else if (random == 2) {
-                        rock = textureDict.get("rock3");
-                    }
-                    else if (random == 3 || random == 4){
-                        int randomFish = MathUtils.random(2);
-                        if (randomFish == 0){
-                            rock = textureDict.get("fish1");
-                        }
-                        else if (randomFish == 1){
-                            rock = textureDict.get("fish2");
-                        }
-                        else{
-                            rock = textureDict.get("fish3");
-                        }
-                    }
-                    else if (random == 5 || random == 6){
-                        int randomLeaf = MathUtils.random(1);
-                        if (randomLeaf == 0){
-                            rock = textureDict.get("leaf1");
-                        }
-                        else{
-                            rock = textureDict.get("leaf2");
-                        }
-                    }
-                    else {
-                        rock = textureDict.get("watershine");
-                    }
-
-                    float minX = g.getX() - 0.3f;
-                    float maxX = g.getX() + 0.3f;
-                    float minY = g.getY() - 0.3f;
-                    float maxY = g.getY() + 0.3f;
-
-                    ((River) g).setRock(rock);
-                    ((River) g).setRockPosition(new Vector2(MathUtils.random(minX*g.getDrawScale().x,
-                            maxX*g.getDrawScale().x), MathUtils.random(minY*g.getDrawScale().x,
-                            maxY*g.getDrawScale().x)));
-
-                }
-
-                if (((River)g).getHasRockOnit()){
-                    Vector2 origin = new Vector2(((River) g).getRock().getRegionWidth()/2.0f,
-                            ((River) g).getRock().getRegionHeight()/2.0f);
-                    canvas.draw(((River) g).getRock(), Color.WHITE, origin.x,origin.y, ((River) g).getRockPosition().x,
-                            ((River) g).getRockPosition().y,0,1,1);
-
-                }
-            }
-        }
+        waterLayer.draw(canvas);
+        drawQueue.draw(canvas);
         canvas.end();
 
         canvas.beginProgressCircle();
@@ -844,7 +1045,107 @@ public class Level {
         canvas.endProgressCircle();
 
         groundObjects.clear();
-        blockObjects.clear();
+    }
+
+    /**
+     * Draws the ground that only changes through grid events or switches, for the ground layer
+     */
+    void drawGround(Canvas canvas) {
+        canvas.draw(background, 0, 0);
+        canvas.draw(background, BACKGROUND_OFFSET, 0);
+        for (int i = 0; i < cottonFlowers.size(); i++)
+            cottonFlowers.get(i).draw(canvas);
+        for (int i = 0; i < switches.size(); i++)
+            switches.get(i).draw(canvas);
+    }
+
+    /**
+     * Draws the rivers and their details, for the water layer
+     */
+    void drawWater(Canvas canvas) {
+        for (int i = 0; i < rivers.size(); i++) {
+            rivers.get(i).draw(canvas);
+            if (textureDict != null)
+                drawRiverDetails(canvas, rivers.get(i));
+        }
+    }
+
+    /** Draws the corner patches and the rock, fish or leaf of a river tile */
+    private void drawRiverDetails(Canvas canvas, River river) {
+        // Patch up the corners of the rivers
+        TextureRegion[] patches = river.getPatches();
+        for (int i = 0; i < patches.length; i++){
+            if (patches[i] != null){
+                canvas.draw(patches[i], Color.WHITE, patches[i].getRegionWidth()/2.0f, patches[i].getRegionHeight()/2.0f,
+                        river.getX()*river.getDrawScale().x, (river.getY()*river.getDrawScale().x) +12f,0,1,1);
+            }
+        }
+
+        // Add rocks
+        if (river.getRock() == null && river.getHasRockOnit()){
+            TextureRegion rock;
+            int random = MathUtils.random(12);
+            if (random == 0){
+                rock = textureDict.get("rock1");
+            }
+            else if (random == 1){
+                rock = textureDict.get("rock2");
+            }
+            else if (random == 2) {
+                rock = textureDict.get("rock3");
+            }
+            else if (random == 3 || random == 4){
+                int randomFish = MathUtils.random(2);
+                if (randomFish == 0){
+                    rock = textureDict.get("fish1");
+                }
+                else if (randomFish == 1){
+                    rock = textureDict.get("fish2");
+                }
+                else{
+                    rock = textureDict.get("fish3");
+                }
+            }
+            else if (random == 5 || random == 6){
+                int randomLeaf = MathUtils.random(1);
+                if (randomLeaf == 0){
+                    rock = textureDict.get("leaf1");
+                }
+                else{
+                    rock = textureDict.get("leaf2");
+                }
+            }
+            else {
+                rock = textureDict.get("watershine");
+            }
+
+            float minX = river.getX() - 0.3f;
+            float maxX = river.getX() + 0.3f;
+            float minY = river.getY() - 0.3f;
+            float maxY = river.getY() + 0.3f;
+
+            river.setRock(rock);
+            river.setRockPosition(new Vector2(MathUtils.random(minX*river.getDrawScale().x,
+                    maxX*river.getDrawScale().x), MathUtils.random(minY*river.getDrawScale().x,
+                    maxY*river.getDrawScale().x)));
+
+        }
+
+        if (river.getHasRockOnit()){
+            canvas.draw(river.getRock(), Color.WHITE, river.getRock().getRegionWidth()/2.0f,
+                    river.getRock().getRegionHeight()/2.0f, river.getRockPosition().x,
+                    river.getRockPosition().y,0,1,1);
+
+        }
+    }
+
+    /** Returns whether an object is drawn through the static layer */
+    private boolean isStaticObject(GameObject g) {
+        return g.getType() == COTTON || g.getType() == SWITCH || g.getType() == RIVER;
+    }
+
+    private boolean isGroundObject(GameObject g) {
+        return g.getType() == GOAL && ((Wall) g).getAnimLowered();
     }
 
     public int getAvatarGridX() {
@@ -855,19 +1156,63 @@ public class Level {
         return Math.round((avatar.getY() - 1) / 2);
     }
 
-    public boolean[][] getEnemyLocation() {return enemyLocation;}
+    /**
+     * Moves one enemy to the cell its position now stands on in the occupancy index
+     *
+     * Called by Enemy whenever it is moved, and for every enemy after the physics step.
+     */
+    public void updateEnemyCell(Enemy e) {
+        int cell = enemyCell(e);
+        if (cell == e.getOccupiedCell())
+            return;
+
+        addEnemyCount(e.getOccupiedCell(), -1);
+        addEnemyCount(cell, 1);
+        e.setOccupiedCell(cell);
+        visibility.invalidate();
+    }
+
+    /** Brings the occupancy index up to date with enemies moved by the physics engine */
+    public void updateEnemyOccupancy() {
+        for (int i = 0; i < enemies.size(); i++)
+            updateEnemyCell(enemies.get(i));
+    }
 
-    public void setEnemyLocation(int x, int y, boolean value) {enemyLocation[x][y] = value;}
+    /**
+     * Returns the cell x * height + y an enemy stands on, or -1 if it stands on none.
+     *
+     * An enemy is on a cell while its center is less than half a cell away from the
+     * cell's center on both axes, so one exactly halfway between two cells is on neither.
+     */
+    private int enemyCell(Enemy e) {
+        float fx = (e.getX() - 1) / 2;
+        float fy = (e.getY() - 1) / 2;
+        int x = Math.round(fx);
+        int y = Math.round(fy);
+        if (Math.abs(fx - x) >= 0.5 || Math.abs(fy - y) >= 0.5 || !inGrid(x, y))
+            return -1;
+        return x * getHeight() + y;
+    }
 
-    public boolean isEnemyOnSquare(int gridX, int gridY) {
-        for (Enemy e : enemies) {
-            float dx = ((e.getX() - 1) / 2) - gridX;
-            float dy = ((e.getY() - 1) / 2) - gridY;
-            if (Math.abs(dx) < 0.5 && Math.abs(dy) < 0.5)
-                return true;
-        }
+    /** Returns how many enemies are on the given cell */
+    public int getEnemyCount(int x, int y) {
+        return inGrid(x, y) ? enemyCounts.get(x * getHeight() + y, 0) : 0;
+    }
 
-        return false;
+    private void addEnemyCount(int cell, int delta) {
+        if (cell < 0)
+            return;
+
+        int count = enemyCounts.get(cell, 0) + delta;
+        if (count > 0)
+            enemyCounts.put(cell, count);
+        else
+            enemyCounts.remove(cell, 0);
+        enemyBits.set(cell / getHeight(), cell % getHeight(), count > 0);
+    }
+
+    public boolean isEnemyOnSquare(int gridX, int gridY) {
+        return isEnemyOccupied(gridX, gridY);
     }
 
     public float getStraightDist(int direction, GameObject bd1, GameObject bd2) {
@@ -929,273 +1274,134 @@ public class Level {
             if ((int)locationCache.y == getHeight())
                 return null;
             else
-                return grid[(int)locationCache.x][(int)locationCache.y + 1];
+                return grid.get((int)locationCache.x, (int)locationCache.y + 1);
         }
         else if (direction == DOWN) {
             if ((int)locationCache.y == 0)
                 return null;
             else
-                return grid[(int)locationCache.x][(int)locationCache.y - 1];
+                return grid.get((int)locationCache.x, (int)locationCache.y - 1);
         }
         else if (direction == LEFT) {
             if ((int)locationCache.x == 0)
                 return null;
             else
-                return grid[(int)locationCache.x - 1][(int)locationCache.y];
+                return grid.get((int)locationCache.x - 1, (int)locationCache.y);
         }
         else if (direction == RIGHT) {
             if ((int)locationCache.x == getWidth())
                 return null;
             else
-                return grid[(int)locationCache.x + 1][(int)locationCache.y];
+                return grid.get((int)locationCache.x + 1, (int)locationCache.y);
         }
         return null;
     }
 
-    public void setRiverTexture(River river, Hashtable<String, TextureRegion> textureDict){
-
-        TextureRegion riverCenter = textureDict.get("riverCenter");
-        TextureRegion riverCornerLeftTop = textureDict.get("riverCornerLeftTop");
-        TextureRegion riverCornerLeftBot = textureDict.get("riverCornerLeftBot");
-        TextureRegion riverCornerRightTop = textureDict.get("riverCornerRightTop");
-        TextureRegion riverCornerRightBot = textureDict.get("riverCornerRightBot");
-        TextureRegion riverLeftEdge = textureDict.get("riverLeftEdge");
-        TextureRegion riverRightEdge = textureDict.get("riverRightEdge");
-        TextureRegion riverTopEdge = textureDict.get("riverTopEdge");
-        TextureRegion riverBotEdge = textureDict.get("riverBotEdge");
-        TextureRegion riverLeft3Sides = textureDict.get("riverLeft3Sides");
-        TextureRegion riverRight3Sides = textureDict.get("riverRight3Sides");
-        TextureRegion riverTop3Sides = textureDict.get("riverTop3Sides");
-        TextureRegion riverBot3Sides = textureDict.get("riverBot3Sides");
-        TextureRegion riverVert2Sides = textureDict.get("riverVert2Sides");
-        TextureRegion riverHor2Sides = textureDict.get("riverHor2Sides");
-
-        GameObject left = grid[(int)river.getGridLocation().x-1][(int)river.getGridLocation().y];
-        GameObject right = grid[(int)river.getGridLocation().x+1][(int)river.getGridLocation().y];
-        GameObject top = grid[(int)river.getGridLocation().x][(int)river.getGridLocation().y+1];
-        GameObject bot = grid[(int)river.getGridLocation().x][(int)river.getGridLocation().y-1];
-
-        boolean isLeftRiver = false;
-        boolean isRightRiver = false;
-        boolean isTopRiver = false;
-        boolean isBotRiver = false;
-
-        // set the booleans for each neighbor
-        if (left != null){
-            if (left.getType() == RIVER){
-                isLeftRiver = true;
-            } else {
-                isLeftRiver = false;
-            }
-        } else {
-            isLeftRiver = false;
-        }
-
-        if (right != null){
-            if (right.getType() == RIVER){
-                isRightRiver = true;
-            } else {
-                isRightRiver = false;
-            }
-        } else {
-            isRightRiver = false;
-        }
-
-        if (top != null){
-            if (top.getType() == RIVER){
-                isTopRiver = true;
-            } else {
-                isTopRiver = false;
-            }
-        } else {
-            isTopRiver = false;
-        }
-
-        if (bot != null){
-            if (bot.getType() == RIVER){
-                isBotRiver = true;
-            } else {
-                isBotRiver = false;
-            }
-        } else {
-            isBotRiver = false;
-        }
-
-        river.setRight(isRightRiver);
-        river.setLeft(isLeftRiver);
-        river.setTop(isTopRiver);
-        river.setBot(isBotRiver);
-
-
-        if (isTopRiver && isBotRiver && isLeftRiver && isRightRiver){
-            // Center Tile
-            river.setTexture(riverCenter);
-            river.setCenterTile(true);
-        }
-        else if (!isTopRiver && !isLeftRiver && isBotRiver && isRightRiver){
-            river.setTexture(riverCornerLeftTop);
-        }
-        else if (!isBotRiver && !isLeftRiver && isTopRiver && isRightRiver){
-            river.setTexture(riverCornerLeftBot);
-        }
-        else if (!isTopRiver && !isRightRiver && isBotRiver && isLeftRiver){
-            river.setTexture(riverCornerRightTop);
-        }
-        else if (!isBotRiver && !isRightRiver && isTopRiver && isLeftRiver){
-            river.setTexture(riverCornerRightBot);
-        }
-        else if (!isTopRiver && isRightRiver && isLeftRiver && isBotRiver){
-            river.setTexture(riverTopEdge);
-        }
-        else if (!isLeftRiver && isRightRiver && isBotRiver && isTopRiver){
-            river.setTexture(riverLeftEdge);
-        }
-        else if (!isBotRiver && isRightRiver && isTopRiver && isLeftRiver){
-            river.setTexture(riverBotEdge);
-        }
-        else if (!isRightRiver && isLeftRiver && isTopRiver && isBotRiver){
-            river.setTexture(riverRightEdge);
-        }
-        else if (!isLeftRiver && !isTopRiver && !isBotRiver && isRightRiver){
-            river.setTexture(riverLeft3Sides);
-        }
-        else if (!isRightRiver && !isTopRiver && !isBotRiver && isLeftRiver){
-            river.setTexture(riverRight3Sides);
-        }
-        else if (!isTopRiver && !isBotRiver && isLeftRiver && isRightRiver){
-            river.setTexture(riverHor2Sides);
-        }
-        else if (!isLeftRiver && !isRightRiver && !isTopRiver && isBotRiver){
-            river.setTexture(riverTop3Sides);
-        }
-        else if (!isBotRiver && !isLeftRiver && !isRightRiver && isTopRiver){
-            river.setTexture(riverBot3Sides);
-        }
-        else if (!isLeftRiver && !isRightRiver && isTopRiver && isBotRiver){
-            river.setTexture(riverVert2Sides);
-        }
-        else {
-            river.setTexture(textureDict.get("river"));
-        }
-
+    /**
+     * Resolves the river tile for every combination of river neighbors, once per populate
+     *
+     * Entry k of riverTiles is the texture of a river whose side neighbors match the
+     * River.*_NEIGHBOR bits in k, so tiling a river is a single array read.
+     */
+    private void buildRiverTiles() {
+        riverTiles = new TextureRegion[River.SIDE_NEIGHBORS + 1];
+        for (int mask = 0; mask < riverTiles.length; mask++)
+            riverTiles[mask] = textureDict.get(riverTileName(mask));
+
+        riverPatches = new TextureRegion[4];
+        riverPatches[River.TOP_LEFT_PATCH] = textureDict.get("cornerTopLeft");
+        riverPatches[River.TOP_RIGHT_PATCH] = textureDict.get("cornerTopRight");
+        riverPatches[River.BOT_RIGHT_PATCH] = textureDict.get("cornerBottomRight");
+        riverPatches[River.BOT_LEFT_PATCH] = textureDict.get("cornerBottomLeft");
     }
 
-    public TextureRegion[] setPatchRivers(River river,Hashtable<String, TextureRegion> textureDict){
-
-        TextureRegion cornerBottomLeft = textureDict.get("cornerBottomLeft");
-        TextureRegion cornerBottomRight = textureDict.get("cornerBottomRight");
-        TextureRegion cornerTopLeft = textureDict.get("cornerTopLeft");
-        TextureRegion cornerTopRight = textureDict.get("cornerTopRight");
-        GameObject left = grid[(int)river.getGridLocation().x-1][(int)river.getGridLocation().y];
-        GameObject right = grid[(int)river.getGridLocation().x+1][(int)river.getGridLocation().y];
-        GameObject top = grid[(int)river.getGridLocation().x][(int)river.getGridLocation().y+1];
-        GameObject bot = grid[(int)river.getGridLocation().x][(int)river.getGridLocation().y-1];
-
-        GameObject northwest = grid[(int)river.getGridLocation().x-1][(int)river.getGridLocation().y+1];
-        GameObject northeast = grid[(int)river.getGridLocation().x+1][(int)river.getGridLocation().y+1];
-        GameObject southwest = grid[(int)river.getGridLocation().x-1][(int)river.getGridLocation().y-1];
-        GameObject southeast = grid[(int)river.getGridLocation().x+1][(int)river.getGridLocation().y-1];
-
-        boolean isLeftRiver, isRightRiver, isTopRiver, isBotRiver;
-        boolean isSouthEastRiver, isNorthEastRiver, isSouthWestRiver, isNorthWestRiver;
-
-        // set the booleans for each neighbor
-        if (left != null){
-            if (left.getType() == RIVER){
-                isLeftRiver = true;
-            } else {
-                isLeftRiver = false;
-            }
-        } else {
-            isLeftRiver = false;
-        }
-
-        if (right != null){
-            if (right.getType() == RIVER){
-                isRightRiver = true;
-            } else {
-                isRightRiver = false;
-            }
-        } else {
-            isRightRiver = false;
-        }
-
-        if (top != null){
-            if (top.getType() == RIVER){
-                isTopRiver = true;
-            } else {
-                isTopRiver = false;
-            }
-        } else {
-            isTopRiver = false;
-        }
-
-        if (bot != null){
-            if (bot.getType() == RIVER){
-                isBotRiver = true;
-            } else {
-                isBotRiver = false;
-            }
-        } else {
-            isBotRiver = false;
-        }
-        if (northeast != null){
-            if (northeast.getType() == RIVER){
-                isNorthEastRiver = true;
-            } else {
-                isNorthEastRiver = false;
-            }
-        } else {
-            isNorthEastRiver = false;
-        }
-
-        if (northwest != null){
-            if (northwest.getType() == RIVER){
-                isNorthWestRiver = true;
-            } else {
-                isNorthWestRiver = false;
-            }
-        } else {
-            isNorthWestRiver = false;
-        }
-
-        if (southwest != null){
-            if (southwest.getType() == RIVER){
-                isSouthWestRiver = true;
-            } else {
-                isSouthWestRiver = false;
-            }
-        } else {
-            isSouthWestRiver = false;
-        }
+    /** Returns the texture name of a river tile with the given side neighbors */
+    private static String riverTileName(int mask) {
+        boolean isLeftRiver = (mask & River.LEFT_NEIGHBOR) != 0;
+        boolean isRightRiver = (mask & River.RIGHT_NEIGHBOR) != 0;
+        boolean isTopRiver = (mask & River.TOP_NEIGHBOR) != 0;
+        boolean isBotRiver = (mask & River.BOT_NEIGHBOR) != 0;
+
+        if (isTopRiver && isBotRiver && isLeftRiver && isRightRiver)
+            return "riverCenter";
+        else if (!isTopRiver && !isLeftRiver && isBotRiver && isRightRiver)
+            return "riverCornerLeftTop";
+        else if (!isBotRiver && !isLeftRiver && isTopRiver && isRightRiver)
+            return "riverCornerLeftBot";
+        else if (!isTopRiver && !isRightRiver && isBotRiver && isLeftRiver)
+            return "riverCornerRightTop";
+        else if (!isBotRiver && !isRightRiver && isTopRiver && isLeftRiver)
+            return "riverCornerRightBot";
+        else if (!isTopRiver && isRightRiver && isLeftRiver && isBotRiver)
+            return "riverTopEdge";
+        else if (!isLeftRiver && isRightRiver && isBotRiver && isTopRiver)
+            return "riverLeftEdge";
+        else if (!isBotRiver && isRightRiver && isTopRiver && isLeftRiver)
+            return "riverBotEdge";
+        else if (!isRightRiver && isLeftRiver && isTopRiver && isBotRiver)
+            return "riverRightEdge";
+        else if (!isLeftRiver && !isTopRiver && !isBotRiver && isRightRiver)
+            return "riverLeft3Sides";
+        else if (!isRightRiver && !isTopRiver && !isBotRiver && isLeftRiver)
+            return "riverRight3Sides";
+        else if (!isTopRiver && !isBotRiver && isLeftRiver && isRightRiver)
+            return "riverHor2Sides";
+        else if (!isLeftRiver && !isRightRiver && !isTopRiver && isBotRiver)
+            return "riverTop3Sides";
+        else if (!isBotRiver && !isLeftRiver && !isRightRiver && isTopRiver)
+            return "riverBot3Sides";
+        else if (!isLeftRiver && !isRightRiver && isTopRiver && isBotRiver)
+            return "riverVert2Sides";
+        return "river";
+    }
 
-        if (southeast != null){
-            if (southeast.getType() == RIVER){
-                isSouthEastRiver = true;
-            } else {
-                isSouthEastRiver = false;
+    /** Re-tiles the rivers on and around a cell whose river bit changed */
+    private void updateRiverTiles(int x, int y) {
+        for (int i = x - 1; i <= x + 1; i++) {
+            for (int j = y - 1; j <= y + 1; j++) {
+                GameObject g = grid.get(i, j);
+                if (g instanceof River)
+                    updateRiverTile((River) g);
             }
-        } else {
-            isSouthEastRiver = false;
         }
+    }
 
-        TextureRegion[] list = new TextureRegion[4];
-
-        // Add patch rivers
-        if (isTopRiver && isLeftRiver && !isNorthWestRiver){
-            list[0] = cornerTopLeft;
-        }
-        if (isTopRiver && isRightRiver && !isNorthEastRiver){
-            list[1] = cornerTopRight;
-        }
-        if (isRightRiver && isBotRiver && !isSouthEastRiver){
-            list[2] = cornerBottomRight;
-        }
-        if (isBotRiver && isLeftRiver && !isSouthWestRiver){
-            list[3] = cornerBottomLeft;
-        }
-        return list;
+    /** Recomputes the neighbor mask of a river, and its tile and corner patches once textures are known */
+    private void updateRiverTile(River river) {
+        int x = (int) river.getGridLocation().x;
+        int y = (int) river.getGridLocation().y;
+        int mask = 0;
+        if (isRiver(x - 1, y))
+            mask |= River.LEFT_NEIGHBOR;
+        if (isRiver(x + 1, y))
+            mask |= River.RIGHT_NEIGHBOR;
+        if (isRiver(x, y + 1))
+            mask |= River.TOP_NEIGHBOR;
+        if (isRiver(x, y - 1))
+            mask |= River.BOT_NEIGHBOR;
+        if (isRiver(x - 1, y + 1))
+            mask |= River.TOP_LEFT_NEIGHBOR;
+        if (isRiver(x + 1, y + 1))
+            mask |= River.TOP_RIGHT_NEIGHBOR;
+        if (isRiver(x + 1, y - 1))
+            mask |= River.BOT_RIGHT_NEIGHBOR;
+        if (isRiver(x - 1, y - 1))
+            mask |= River.BOT_LEFT_NEIGHBOR;
+        river.setNeighborMask(mask);
+        if (riverTiles == null)
+            return;
+
+        river.setTexture(riverTiles[mask & River.SIDE_NEIGHBORS]);
+        // An inner corner needs patching where two river sides meet around a missing diagonal
+        setRiverPatch(river, River.TOP_LEFT_PATCH, mask, River.TOP_NEIGHBOR | River.LEFT_NEIGHBOR, River.TOP_LEFT_NEIGHBOR);
+        setRiverPatch(river, River.TOP_RIGHT_PATCH, mask, River.TOP_NEIGHBOR | River.RIGHT_NEIGHBOR, River.TOP_RIGHT_NEIGHBOR);
+        setRiverPatch(river, River.BOT_RIGHT_PATCH, mask, River.BOT_NEIGHBOR | River.RIGHT_NEIGHBOR, River.BOT_RIGHT_NEIGHBOR);
+        setRiverPatch(river, River.BOT_LEFT_PATCH, mask, River.BOT_NEIGHBOR | River.LEFT_NEIGHBOR, River.BOT_LEFT_NEIGHBOR);
+    }
 
+    private void setRiverPatch(River river, int slot, int mask, int sides, int diagonal) {
+        boolean patched = (mask & sides) == sides && (mask & diagonal) == 0;
+        river.setPatch(slot, patched ? riverPatches[slot] : null);
     }
 
     /** drawing on screen */
@@ -1204,9 +1410,14 @@ public class Level {
     }
 
     public void dispose() {
-        for(GameObject g : objects)
+        for(GameObject g : objects) {
             g.deactivatePhysics(world);
+            g.setObjectEntry(null);
+            g.setCategoryIndex(-1);
+        }
         objects.clear();
+        groundObjects.clear();
+        drawQueue.clear();
         walls.clear();
         cottonFlowers.clear();
         rivers.clear();
@@ -1228,5 +1439,13 @@ public class Level {
         locationCache = null;
         switches = null;
         doors = null;
+        pathfinder = null;
+        avatarField = null;
+        visibility = null;
+        groundLayer.dispose();
+        groundLayer = null;
+        waterLayer.dispose();
+        waterLayer = null;
+        gridListeners.clear();
     }
 }
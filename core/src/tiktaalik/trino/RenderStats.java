@@ -0,0 +1,129 @@
+package tiktaalik.trino;
+
+/**
+ * Rendering counters for one frame, broken down by the kind of drawing pass.
+ *
+ * Canvas fills one of these while it draws and hands out the one for the last
+ * finished frame, so the numbers stay stable while they are being read or drawn.
+ * Render calls and batch sizes come from the sprite batch, so they are only counted
+ * for sprite passes; flushes are only counted for the shape passes.
+ */
+public class RenderStats {
+    /** The kinds of drawing pass Canvas can be in */
+    public enum Pass {
+        SPRITES, // begin() in any of its forms
+        OVERLAY, // beginOverlay()
+        SHADOWS, // beginShadows()
+        PROGRESS, // beginProgressCircle()
+        DEBUG // beginDebug()
+    }
+
+    private static final Pass[] PASSES = Pass.values();
+
+    /** Number of begin/end pairs of each pass */
+    private int[] passes = new int[PASSES.length];
+    /** Sprite batch render calls made by each pass */
+    private int[] renderCalls = new int[PASSES.length];
+    /** Largest sprite batch flush of each pass, in triangles */
+    private int[] maxTriangles = new int[PASSES.length];
+    /** ShapeRenderer flushes made by each pass */
+    private int[] shapeFlushes = new int[PASSES.length];
+    /** Texture binds made by each pass, or 0 if they were not profiled */
+    private int[] textureBinds = new int[PASSES.length];
+    /** Sprite batch render calls since the canvas was created */
+    private int totalRenderCalls;
+
+    private StringBuilder text = new StringBuilder();
+
+    /** Resets every counter for a new frame */
+    public void clear() {
+        for (int k = 0; k < PASSES.length; k++) {
+            passes[k] = 0;
+            renderCalls[k] = 0;
+            maxTriangles[k] = 0;
+            shapeFlushes[k] = 0;
+            textureBinds[k] = 0;
+        }
+        totalRenderCalls = 0;
+    }
+
+    /** Adds the counters of one finished drawing pass */
+    void record(Pass pass, int calls, int triangles, int flushes, int binds) {
+        int k = pass.ordinal();
+        passes[k]++;
+        renderCalls[k] += calls;
+        maxTriangles[k] = Math.max(maxTriangles[k], triangles);
+        shapeFlushes[k] += flushes;
+        textureBinds[k] += binds;
+    }
+
+    void setTotalRenderCalls(int calls) {
+        totalRenderCalls = calls;
+    }
+
+    public int getPasses(Pass pass) { return passes[pass.ordinal()]; }
+
+    public int getRenderCalls(Pass pass) { return renderCalls[pass.ordinal()]; }
+
+    public int getMaxTrianglesInBatch(Pass pass) { return maxTriangles[pass.ordinal()]; }
+
+    public int getShapeFlushes(Pass pass) { return shapeFlushes[pass.ordinal()]; }
+
+    public int getTextureBinds(Pass pass) { return textureBinds[pass.ordinal()]; }
+
+    /** Returns the number of begin/end pairs in the frame, over all passes */
+    public int getPasses() { return sum(passes); }
+
+    /** Returns the number of sprite batch render calls in the frame */
+    public int getRenderCalls() { return sum(renderCalls); }
+
+    /** Returns the largest sprite batch flush in the frame, in triangles */
+    public int getMaxTrianglesInBatch() {
+        int max = 0;
+        for (int k = 0; k < PASSES.length; k++)
+            max = Math.max(max, maxTriangles[k]);
+        return max;
+    }
+
+    /** Returns the number of ShapeRenderer flushes in the frame */
+    public int getShapeFlushes() { return sum(shapeFlushes); }
+
+    /** Returns the number of texture binds in the frame, or 0 if they were not profiled */
+    public int getTextureBinds() { return sum(textureBinds); }
+
+    /** Returns the sprite batch render calls since the canvas was created */
+    public int getTotalRenderCalls() { return totalRenderCalls; }
+
+    /**
+     * Returns the counters as lines of text, a total line followed by one line per pass.
+     *
+     * The text is built in a buffer owned by this object and is only valid until the next call.
+     */
+    public CharSequence toText() {
+        text.setLength(0);
+        text.append("frame: passes ").append(getPasses())
+                .append(", calls ").append(getRenderCalls())
+                .append(" (total ").append(totalRenderCalls).append(')')
+                .append(", max tris ").append(getMaxTrianglesInBatch())
+                .append(", shape flushes ").append(getShapeFlushes())
+                .append(", binds ").append(getTextureBinds());
+        for (int k = 0; k < PASSES.length; k++) {
+            if (passes[k] == 0)
+                continue;
+            text.append('\n').append(PASSES[k].name().toLowerCase())
+                    .append(": passes ").append(passes[k])
+                    .append(", calls ").append(renderCalls[k])
+                    .append(", max tris ").append(maxTriangles[k])
+                    .append(", shape flushes ").append(shapeFlushes[k])
+                    .append(", binds ").append(textureBinds[k]);
+        }
+        return text;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int k = 0; k < counts.length; k++)
+            total += counts[k];
+        return total;
+    }
+}
@@ -0,0 +1,197 @@
+package tiktaalik.trino;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import tiktaalik.trino.environment.Switch;
+import tiktaalik.util.SwapList;
+
+/**
+ * An offscreen copy of the parts of a level that do not move.
+ *
+ * The static parts are drawn once into a frame buffer, which is then copied to the
+ * screen as a single sprite every frame. When a grid cell changes, only a rectangle
+ * around it is cleared and redrawn (using the scissor test) before the next copy, so
+ * picking a cotton flower does not redraw the whole level.
+ *
+ * A level keeps two layers, because the actor shadows fall between them. The ground
+ * layer holds the background, cotton flowers and switches and is opaque. The water
+ * layer holds the rivers with their details and is transparent everywhere else; it is
+ * drawn above the shadows, as the rivers were before they were cached.
+ *
+ * Walls are not part of either layer, since actors can stand in front of or behind
+ * them depending on their row.
+ */
+public class StaticLayer extends GridAdapter {
+    private Level level;
+    private boolean water;
+    private FrameBuffer buffer;
+    private TextureRegion region;
+    private Matrix4 projection = new Matrix4();
+    private int width, height;
+
+    // Area to redraw in layer pixels, empty when dirtyMaxX <= dirtyMinX
+    private int dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+
+    // Switch textures as last drawn into the layer; they change without a grid event
+    private TextureRegion[] switchTextures = new TextureRegion[0];
+
+    /**
+     * @param water whether this is the transparent river layer rather than the ground layer
+     */
+    public StaticLayer(Level level, boolean water) {
+        this.level = level;
+        this.water = water;
+        level.addGridListener(this);
+    }
+
+    public void dispose() {
+        level.removeGridListener(this);
+        if (buffer != null) {
+            buffer.dispose();
+            buffer = null;
+        }
+    }
+
+    /** Marks the whole layer for redrawing */
+    public void markAllDirty() {
+        dirtyMinX = 0;
+        dirtyMinY = 0;
+        dirtyMaxX = width;
+        dirtyMaxY = height;
+    }
+
+    /**
+     * Marks the area around a grid cell for redrawing.
+     *
+     * Sprites are larger than their cell, so the area extends one cell past it on every side.
+     */
+    public void markCellDirty(int x, int y) {
+        int cell = (int) Math.ceil(2 * level.getScale().x);
+        markDirty((x - 1) * cell, (y - 1) * cell, (x + 2) * cell, (y + 2) * cell);
+    }
+
+    public void cellChanged(int x, int y) {
+        markCellDirty(x, y);
+    }
+
+    /**
+     * Brings the layer up to date, redrawing whatever changed since the last call.
+     *
+     * This must be called outside of a drawing pass.
+     *
+     * @param width the width in pixels the layer must cover
+     * @param height the height in pixels the layer must cover
+     */
+    public void update(Canvas canvas, int width, int height) {
+        if (buffer == null || width != this.width || height != this.height)
+            allocate(width, height);
+        if (!water)
+            checkSwitches();
+        if (dirtyMaxX <= dirtyMinX || dirtyMaxY <= dirtyMinY)
+            return;
+
+        int x = Math.max(dirtyMinX, 0);
+        int y = Math.max(dirtyMinY, 0);
+        int w = Math.min(dirtyMaxX, width) - x;
+        int h = Math.min(dirtyMaxY, height) - y;
+        dirtyMinX = dirtyMinY = dirtyMaxX = dirtyMaxY = 0;
+        if (w <= 0 || h <= 0)
+            return;
+
+        buffer.begin();
+        Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+        Gdx.gl.glScissor(x, y, w, h);
+        Gdx.gl.glClearColor(0, 0, 0, water ? 0 : 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        if (water) {
+            canvas.setBlendState(Canvas.BlendState.PREMULTIPLY);
+            canvas.begin(projection);
+            level.drawWater(canvas);
+            canvas.end();
+            canvas.setBlendState(Canvas.BlendState.NO_PREMULT);
+        } else {
+            canvas.begin(projection);
+            level.drawGround(canvas);
+            canvas.end();
+        }
+        Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+        buffer.end();
+
+        if (!water)
+            rememberSwitches();
+    }
+
+    /**
+     * Draws the layer at the level origin.
+     *
+     * This must be called inside a standard drawing pass, after update().
+     */
+    public void draw(Canvas canvas) {
+        if (region == null)
+            return;
+
+        if (water) {
+            // The water layer was baked with pre-multiplied alpha
+            canvas.setBlendState(Canvas.BlendState.ALPHA_BLEND);
+            canvas.draw(region, 0, 0);
+            canvas.setBlendState(Canvas.BlendState.NO_PREMULT);
+        } else {
+            canvas.draw(region, 0, 0);
+        }
+    }
+
+    private void allocate(int width, int height) {
+        if (buffer != null)
+            buffer.dispose();
+
+        this.width = width;
+        this.height = height;
+        // The ground has no alpha channel: the background is opaque, and blending would otherwise leave it translucent
+        buffer = new FrameBuffer(water ? Pixmap.Format.RGBA8888 : Pixmap.Format.RGB888, width, height, false);
+        buffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        region = new TextureRegion(buffer.getColorBufferTexture());
+        region.flip(false, true);
+        projection.setToOrtho2D(0, 0, width, height);
+        markAllDirty();
+    }
+
+    private void checkSwitches() {
+        SwapList<Switch> switches = level.getSwitches();
+        if (switches.size() != switchTextures.length) {
+            markAllDirty();
+            return;
+        }
+        for (int k = 0; k < switches.size(); k++) {
+            Switch s = switches.get(k);
+            if (s.getTexture() != switchTextures[k])
+                markCellDirty((int) s.getGridLocation().x, (int) s.getGridLocation().y);
+        }
+    }
+
+    private void rememberSwitches() {
+        SwapList<Switch> switches = level.getSwitches();
+        if (switchTextures.length != switches.size())
+            switchTextures = new TextureRegion[switches.size()];
+        for (int k = 0; k < switches.size(); k++)
+            switchTextures[k] = switches.get(k).getTexture();
+    }
+
+    private void markDirty(int minX, int minY, int maxX, int maxY) {
+        if (dirtyMaxX <= dirtyMinX || dirtyMaxY <= dirtyMinY) {
+            dirtyMinX = minX;
+            dirtyMinY = minY;
+            dirtyMaxX = maxX;
+            dirtyMaxY = maxY;
+            return;
+        }
+        dirtyMinX = Math.min(dirtyMinX, minX);
+        dirtyMinY = Math.min(dirtyMinY, minY);
+        dirtyMaxX = Math.max(dirtyMaxX, maxX);
+        dirtyMaxY = Math.max(dirtyMaxY, maxY);
+    }
+}
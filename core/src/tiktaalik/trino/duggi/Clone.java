@@ -1,7 +1,7 @@
 package tiktaalik.trino.duggi;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import tiktaalik.trino.Canvas;
@@ -47,10 +47,10 @@ public class Clone extends GameObject {
         this.radius = radius;
     }
 
-    public void setIdleTextureSet(Texture idle, int frames) {
+    public void setIdleTextureSet(TextureRegion idle, int frames) {
         numIdleFrames = frames;
         idleTextureSet = new FilmStrip(idle,1,frames,frames);
-        origin.set(idle.getWidth()/(2.0f * frames), idle.getHeight()/2.0f);
+        origin.set(idle.getRegionWidth()/(2.0f * frames), idle.getRegionHeight()/2.0f);
     }
 
     public void setEnemy(Enemy e){
@@ -1,7 +1,7 @@
 package tiktaalik.trino.duggi;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.Filter;
@@ -197,8 +197,8 @@ public abstract class Dinosaur extends GameObject {
         actionLoad = 0.0f;
     }
 
-    public void setTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                              Texture down, int downFrames) {
+    public void setTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                              TextureRegion down, int downFrames) {
         numFrames[LEFT] = leftFrames;
         textureSet[LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[RIGHT] = rightFrames;
@@ -210,10 +210,10 @@ public abstract class Dinosaur extends GameObject {
         origin = new Vector2(textureSet[LEFT].getRegionWidth()/2.0f, textureSet[LEFT].getRegionHeight()/2.0f);
     }
 
-    public void setActionLoadingTextureSet(Texture left, int leftFrames, int leftLoopFrames,
-                                           Texture right, int rightFrames, int rightLoopFrames,
-                                           Texture up, int upFrames, int upLoopFrames,
-                                           Texture down, int downFrames, int downLoopFrames) {
+    public void setActionLoadingTextureSet(TextureRegion left, int leftFrames, int leftLoopFrames,
+                                           TextureRegion right, int rightFrames, int rightLoopFrames,
+                                           TextureRegion up, int upFrames, int upLoopFrames,
+                                           TextureRegion down, int downFrames, int downLoopFrames) {
         numFrames[ACTION_LOADING_LEFT] = leftFrames;
         numLoopFrames[LEFT] = leftLoopFrames;
         textureSet[ACTION_LOADING_LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
@@ -228,8 +228,8 @@ public abstract class Dinosaur extends GameObject {
         textureSet[ACTION_LOADING_DOWN] = new FilmStrip(down,1,downFrames,downFrames);
     }
 
-    public void setActionTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                              Texture down, int downFrames) {
+    public void setActionTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                              TextureRegion down, int downFrames) {
         numFrames[ACTION_LEFT] = leftFrames;
         textureSet[ACTION_LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[ACTION_RIGHT] = rightFrames;
@@ -240,8 +240,8 @@ public abstract class Dinosaur extends GameObject {
         textureSet[ACTION_DOWN] = new FilmStrip(down,1,downFrames,downFrames);
     }
 
-    public void setEatingTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                                    Texture down, int downFrames) {
+    public void setEatingTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                                    TextureRegion down, int downFrames) {
         numFrames[EATING_LEFT] = leftFrames;
         textureSet[EATING_LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[EATING_RIGHT] = rightFrames;
@@ -252,13 +252,13 @@ public abstract class Dinosaur extends GameObject {
         textureSet[EATING_DOWN] = new FilmStrip(down,1,downFrames,downFrames);
     }
 
-    public void setTransformTextureSet(Texture transform, int nFrames) {
+    public void setTransformTextureSet(TextureRegion transform, int nFrames) {
         numFrames[TRANSFORM] = nFrames;
         textureSet[TRANSFORM] = new FilmStrip(transform,1,nFrames,nFrames);
     }
 
-    public void setIdleTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                                  Texture down, int downFrames) {
+    public void setIdleTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                                  TextureRegion down, int downFrames) {
         numFrames[IDLE_LEFT] = leftFrames;
         textureSet[IDLE_LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[IDLE_RIGHT] = rightFrames;
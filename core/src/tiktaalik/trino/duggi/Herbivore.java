@@ -1,7 +1,7 @@
 package tiktaalik.trino.duggi;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import tiktaalik.trino.Canvas;
@@ -50,14 +50,14 @@ public class Herbivore extends Dinosaur {
         return false;
     }
 
-    public void setSwimmingTextureSet(Texture leftDiving, int leftDivingFrames,
-                                      Texture leftSwimming, int leftSwimmingFrames,
-                                      Texture rightDiving, int rightDivingFrames,
-                                      Texture rightSwimming, int rightSwimmingFrames,
-                                      Texture upDiving, int upDivingFrames,
-                                      Texture upSwimming, int upSwimmingFrames,
-                                      Texture downDiving, int downDivingFrames,
-                                      Texture downSwimming, int downSwimmingFrames) {
+    public void setSwimmingTextureSet(TextureRegion leftDiving, int leftDivingFrames,
+                                      TextureRegion leftSwimming, int leftSwimmingFrames,
+                                      TextureRegion rightDiving, int rightDivingFrames,
+                                      TextureRegion rightSwimming, int rightSwimmingFrames,
+                                      TextureRegion upDiving, int upDivingFrames,
+                                      TextureRegion upSwimming, int upSwimmingFrames,
+                                      TextureRegion downDiving, int downDivingFrames,
+                                      TextureRegion downSwimming, int downSwimmingFrames) {
         numSwimmingFrames[LEFT] = leftDivingFrames;
         swimmingTextureSet[LEFT] = new FilmStrip(leftDiving,1,leftDivingFrames,leftDivingFrames);
         numSwimmingFrames[LEFT + 4] = leftSwimmingFrames;
@@ -2,12 +2,13 @@ package tiktaalik.trino.enemy;
 
 import com.badlogic.gdx.math.Vector2;
 import tiktaalik.trino.GameController;
-import tiktaalik.trino.GameObject;
 import tiktaalik.trino.Level;
 import tiktaalik.trino.SoundController;
 import tiktaalik.trino.duggi.Dinosaur;
 import tiktaalik.trino.duggi.Herbivore;
-import tiktaalik.util.PooledList;
+import tiktaalik.util.DistanceField;
+import tiktaalik.util.IntPath;
+import tiktaalik.util.SwapList;
 
 import static tiktaalik.trino.GameController.*;
 
@@ -29,31 +30,28 @@ public class AIController {
     private float defaultSpeed = .035f;
     private float chargingMultiplier = 6;
 
-    private Vector2 locationCache;
     private Level level;
     private GameController gc;
 
     private int chargeDetectionDistance = 5;
 
-    public AIController(int id, Dinosaur duggi, PooledList<Enemy> enemies, int turnAngle, Level level, GameController gc) {
+    public AIController(int id, Dinosaur duggi, SwapList<Enemy> enemies, int turnAngle, Level level, GameController gc) {
         this.enemy = enemies.get(id);
 
         target = duggi;
         step = new Vector2();
         this.turnAngle = turnAngle;
         this.level = level;
-        locationCache = new Vector2();
         this.gc = gc;
     }
 
-    public AIController(int id, Dinosaur duggi, PooledList<Enemy> enemies, int turnAngle, int type, Level level) {
+    public AIController(int id, Dinosaur duggi, SwapList<Enemy> enemies, int turnAngle, int type, Level level) {
         this.enemy = enemies.get(id);
 
         target = duggi;
         step = new Vector2();
         this.turnAngle = turnAngle;
         this.level = level;
-        locationCache = new Vector2();
     }
 
     public void step() {
@@ -67,11 +65,9 @@ public class AIController {
                 enemy.loadCharge();
             }
             else if (playerInFrontOfEnemy()){
-                if (level.getAvatar().getCanBeSeen()){
-                    enemy.setAlert(true);
-                    SoundController.getInstance().playAlert();
-                    enemy.loadCharge();
-                }
+                enemy.setAlert(true);
+                SoundController.getInstance().playAlert();
+                enemy.loadCharge();
             }
         }
 
@@ -140,16 +136,16 @@ public class AIController {
         enemy.setGridLocation(getEnemyGridX(), getEnemyGridY());
     }
 
-    public boolean step(PooledList<Vector2> path, boolean obstacle, int inFront){
+    public boolean step(IntPath path, boolean obstacle, int inFront){
         if (obstacle) return false;
-        if (path.size() == 0) return false;
+        if (path.isEmpty()) return false;
 
         int x = getEnemyGridX();
         int y = getEnemyGridY();
         float tmpx = enemy.getX();
         float tmpy = enemy.getY();
-        float gridx = path.getHead().x*2+1;
-        float gridy = path.getHead().y*2+1;
+        float gridx = path.peekX()*2+1;
+        float gridy = path.peekY()*2+1;
         float dx = gridx - tmpx;
         float dy = gridy - tmpy;
 
@@ -166,9 +162,9 @@ public class AIController {
                 enemy.setDirection(Dinosaur.UP);
         }
 
-        if (path.getHead().x == x && path.getHead().y == y){
+        if (path.peekX() == x && path.peekY() == y){
             if (Math.abs(dx) <= OFFSET && Math.abs(dy) <= OFFSET) {
-                path.removeHead();
+                path.advance();
                 if (justAvoided) justAvoided = false;
             }
             else{
@@ -180,116 +176,116 @@ public class AIController {
                 return false;
             }
         }
-        if (path.size() == 0) return true;
+        if (path.isEmpty()) return true;
         if (inFront == -1 && !justAvoided) {
-            if (path.getHead().y == 0 &&
-                    (level.getGridObject((int)path.getHead().x, (int)path.getHead().y - 1).getType()!= GameController.EDIBLEWALL ||
-                    level.getGridObject((int)path.getHead().x, (int)path.getHead().y - 1).getType()!= GameController.WALL ||
-                    level.getGridObject((int)path.getHead().x, (int)path.getHead().y - 1).getType()!= GameController.RIVER ||
-                    level.getGridObject((int)path.getHead().x, (int)path.getHead().y - 1).getType()!= GameController.BOULDER ||
-                    level.getGridObject((int)path.getHead().x, (int)path.getHead().y - 1).getType()!= GameController.GOAL) ||
-                    level.getEnemyLocation()[(int)path.getHead().x][(int)path.getHead().y-1]){
+            if (path.peekY() == 0 &&
+                    (level.getGridObject(path.peekX(), path.peekY() - 1).getType()!= GameController.EDIBLEWALL ||
+                    level.getGridObject(path.peekX(), path.peekY() - 1).getType()!= GameController.WALL ||
+                    level.getGridObject(path.peekX(), path.peekY() - 1).getType()!= GameController.RIVER ||
+                    level.getGridObject(path.peekX(), path.peekY() - 1).getType()!= GameController.BOULDER ||
+                    level.getGridObject(path.peekX(), path.peekY() - 1).getType()!= GameController.GOAL) ||
+                    level.isEnemyOccupied(path.peekX(), path.peekY()-1)){
                 if (dx > 0.5){
-                    if (path.getHead().y == 0 &&
-                            (level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.EDIBLEWALL ||
-                            level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.WALL ||
-                            level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.RIVER ||
-                            level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.BOULDER ||
-                            level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x+1][(int)path.getHead().y-1]){
-                        path.add(0,new Vector2(path.getHead().x, path.getHead().y + 1));
+                    if (path.peekY() == 0 &&
+                            (level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.EDIBLEWALL ||
+                            level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.WALL ||
+                            level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.RIVER ||
+                            level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.BOULDER ||
+                            level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()+1, path.peekY()-1)){
+                        path.prepend(path.peekX(), path.peekY() + 1);
                     }
                 }
                 else{
-                    if (path.getHead().y == 0 &&
-                            (level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.EDIBLEWALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.WALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.RIVER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.BOULDER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x+1][(int)path.getHead().y-1]){
-                        path.add(0,new Vector2(path.getHead().x, path.getHead().y + 1));
+                    if (path.peekY() == 0 &&
+                            (level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.EDIBLEWALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.WALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.RIVER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.BOULDER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()+1, path.peekY()-1)){
+                        path.prepend(path.peekX(), path.peekY() + 1);
                     }
                 }
             }
             else{
                 if (dx > 0.5){
-                    if (path.getHead().y == 0 &&
-                            (level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.EDIBLEWALL ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.WALL ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.RIVER ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.BOULDER ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x+1][(int)path.getHead().y+1]){
-                        path.add(0,new Vector2(path.getHead().x, path.getHead().y + 1));
+                    if (path.peekY() == 0 &&
+                            (level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.EDIBLEWALL ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.WALL ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.RIVER ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.BOULDER ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()+1, path.peekY()+1)){
+                        path.prepend(path.peekX(), path.peekY() + 1);
                     }
                 }
                 else{
-                    if (path.getHead().y == 0 &&
-                            (level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.EDIBLEWALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.WALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.RIVER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.BOULDER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x+1][(int)path.getHead().y+1]){
-                        path.add(0,new Vector2(path.getHead().x, path.getHead().y - 1));
+                    if (path.peekY() == 0 &&
+                            (level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.EDIBLEWALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.WALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.RIVER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.BOULDER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()+1, path.peekY()+1)){
+                        path.prepend(path.peekX(), path.peekY() - 1);
                     }
                 }
             }
             justAvoided = true;
         }
         else if (inFront == 1 && !justAvoided) {
-            if (path.getHead().x == 0 &&
-                    (level.getGridObject((int)path.getHead().x -1, (int)path.getHead().y).getType()!= GameController.EDIBLEWALL ||
-                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y).getType()!= GameController.WALL ||
-                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y).getType()!= GameController.RIVER ||
-                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y).getType()!= GameController.BOULDER ||
-                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y).getType()!= GameController.GOAL) ||
-                    level.getEnemyLocation()[(int)path.getHead().x-1][(int)path.getHead().y]){
+            if (path.peekX() == 0 &&
+                    (level.getGridObject(path.peekX() -1, path.peekY()).getType()!= GameController.EDIBLEWALL ||
+                    level.getGridObject(path.peekX()-1, path.peekY()).getType()!= GameController.WALL ||
+                    level.getGridObject(path.peekX()-1, path.peekY()).getType()!= GameController.RIVER ||
+                    level.getGridObject(path.peekX()-1, path.peekY()).getType()!= GameController.BOULDER ||
+                    level.getGridObject(path.peekX()-1, path.peekY()).getType()!= GameController.GOAL) ||
+                    level.isEnemyOccupied(path.peekX()-1, path.peekY())){
                 if (dx > 0.5){
-                    if (path.getHead().y == 0 &&
-                            (level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.EDIBLEWALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.WALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.RIVER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.BOULDER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y + 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x-1][(int)path.getHead().y+1]){
-                        path.add(0,new Vector2(path.getHead().x-1, path.getHead().y ));
+                    if (path.peekY() == 0 &&
+                            (level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.EDIBLEWALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.WALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.RIVER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.BOULDER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() + 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()-1, path.peekY()+1)){
+                        path.prepend(path.peekX()-1, path.peekY());
                     }
                 }
                 else{
-                    if (path.getHead().y == 0 &&
-                            (level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.EDIBLEWALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.WALL ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.RIVER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.BOULDER ||
-                                    level.getGridObject((int)path.getHead().x-1, (int)path.getHead().y - 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x+1][(int)path.getHead().y-1]){
-                        path.add(0,new Vector2(path.getHead().x-1, path.getHead().y - 1));
+                    if (path.peekY() == 0 &&
+                            (level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.EDIBLEWALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.WALL ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.RIVER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.BOULDER ||
+                                    level.getGridObject(path.peekX()-1, path.peekY() - 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()+1, path.peekY()-1)){
+                        path.prepend(path.peekX()-1, path.peekY() - 1);
                     }
                 }
             }
             else{
                 if (dy > 0.5){
-                    if (path.getHead().x == 0 &&
-                            (level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.EDIBLEWALL ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.WALL ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.RIVER ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.BOULDER ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y + 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x+1][(int)path.getHead().y+1]){
-                        path.add(0,new Vector2(path.getHead().x+1, path.getHead().y ));
+                    if (path.peekX() == 0 &&
+                            (level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.EDIBLEWALL ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.WALL ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.RIVER ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.BOULDER ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() + 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()+1, path.peekY()+1)){
+                        path.prepend(path.peekX()+1, path.peekY());
                     }
                 }
                 else{
-                    if (path.getHead().x == 0 &&
-                            (level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.EDIBLEWALL ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.WALL ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.RIVER ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.BOULDER ||
-                                    level.getGridObject((int)path.getHead().x+1, (int)path.getHead().y - 1).getType()!= GameController.GOAL) ||
-                            level.getEnemyLocation()[(int)path.getHead().x+1][(int)path.getHead().y-1]){
-                        path.add(0,new Vector2(path.getHead().x + 1, path.getHead().y ));
+                    if (path.peekX() == 0 &&
+                            (level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.EDIBLEWALL ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.WALL ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.RIVER ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.BOULDER ||
+                                    level.getGridObject(path.peekX()+1, path.peekY() - 1).getType()!= GameController.GOAL) ||
+                            level.isEnemyOccupied(path.peekX()+1, path.peekY()-1)){
+                        path.prepend(path.peekX() + 1, path.peekY());
                     }
                 }
             }
@@ -299,7 +295,7 @@ public class AIController {
         if (Math.abs(tmpx - gridx)<SHADOW_DUGGI_SPEED){
             tmpx = gridx;
         }
-        else if (path.getHead().x > x){
+        else if (path.peekX() > x){
             tmpx += SHADOW_DUGGI_SPEED;
         }
         else {
@@ -308,7 +304,7 @@ public class AIController {
         if (Math.abs(tmpy - gridy)<SHADOW_DUGGI_SPEED){
             tmpy = gridy;
         }
-        else if (path.getHead().y > y){
+        else if (path.peekY() > y){
             tmpy += SHADOW_DUGGI_SPEED;
         }
         else {
@@ -322,6 +318,63 @@ public class AIController {
     }
 
 
+    /**
+     * Moves the enemy one cell down the level's avatar distance field.
+     *
+     * The field is shared by all enemies and only rebuilt after the avatar changes
+     * cells or the grid changes, so chasing costs O(1) per enemy instead of a path search.
+     *
+     * @return whether the enemy has reached the avatar's cell
+     */
+    public boolean chaseAvatar() {
+        DistanceField field = level.getAvatarField();
+        int x = getEnemyGridX();
+        int y = getEnemyGridY();
+        int next = field.getNextCell(x, y);
+        if (next == -1)
+            return field.getDistance(x, y) == 0;
+
+        moveTowards(next / level.getHeight(), next % level.getHeight());
+        return false;
+    }
+
+    /**
+     * Moves the enemy towards the center of the given cell at shadow duggi speed
+     */
+    private void moveTowards(int cellX, int cellY) {
+        float tmpx = enemy.getX();
+        float tmpy = enemy.getY();
+        float gridx = cellX*2+1;
+        float gridy = cellY*2+1;
+        float dx = gridx - tmpx;
+        float dy = gridy - tmpy;
+
+        if (Math.abs(dx) >= Math.abs(dy)){
+            if (dx < -OFFSET)
+                enemy.setDirection(Dinosaur.LEFT);
+            else if (dx > OFFSET)
+                enemy.setDirection(Dinosaur.RIGHT);
+        }
+        else{
+            if (dy < -OFFSET)
+                enemy.setDirection(Dinosaur.DOWN);
+            else if (dy > OFFSET)
+                enemy.setDirection(Dinosaur.UP);
+        }
+
+        if (Math.abs(dx) < SHADOW_DUGGI_SPEED)
+            tmpx = gridx;
+        else
+            tmpx += dx > 0 ? SHADOW_DUGGI_SPEED : -SHADOW_DUGGI_SPEED;
+        if (Math.abs(dy) < SHADOW_DUGGI_SPEED)
+            tmpy = gridy;
+        else
+            tmpy += dy > 0 ? SHADOW_DUGGI_SPEED : -SHADOW_DUGGI_SPEED;
+
+        enemy.setPosition(tmpx, tmpy);
+        enemy.setGridLocation(getEnemyGridX(), getEnemyGridY());
+    }
+
     public int getEnemyGridX() {
         return Math.round((enemy.getX() - 1) / 2);
     }
@@ -338,171 +391,35 @@ public class AIController {
         return Math.round((target.getY() - 1) / 2);
     }
 
+    /**
+     * Returns whether the enemy sees the avatar within charge detection distance.
+     *
+     * Reads the level's visibility map, which already leaves out a camouflaged avatar.
+     */
     public boolean playerInFrontOfEnemy() {
-        locationCache.set(getEnemyGridX(), getEnemyGridY());
-        if (enemy.getDirection() == Dinosaur.UP){
-            if(getTargetGridX() == getEnemyGridX() && (getTargetGridY() - getEnemyGridY() < chargeDetectionDistance) &&
-                    (getTargetGridY() - getEnemyGridY() > 0)) {
-                for(int i = 1; i < Math.abs(getEnemyGridY() - getTargetGridY()); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x][(int) locationCache.y + i];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || level.isEnemyOnSquare((int)
-                                locationCache.x,(int) locationCache.y + i))
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.DOWN){
-            if(getTargetGridX() == getEnemyGridX() && (getEnemyGridY() - getTargetGridY() < chargeDetectionDistance) &&
-                    (getEnemyGridY() - getTargetGridY() > 0)){
-                for(int i = 1; i < Math.abs(getEnemyGridY() - getTargetGridY()); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x][(int) locationCache.y - i];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || level.isEnemyOnSquare((int)
-                                locationCache.x,(int) locationCache.y - i))
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.LEFT){
-            if(getTargetGridY() == getEnemyGridY() && (getEnemyGridX() - getTargetGridX() < chargeDetectionDistance) &&
-                    (getEnemyGridX() - getTargetGridX() > 0)){
-
-                for(int i = 1; i < Math.abs(getEnemyGridX() - getTargetGridX()); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x - i][(int) locationCache.y];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || level.isEnemyOnSquare((int)
-                                locationCache.x-i,(int) locationCache.y))
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.RIGHT){
-            if(getTargetGridY() == getEnemyGridY() && (getTargetGridX() - getEnemyGridX() < chargeDetectionDistance) &&
-                    (getTargetGridX() - getEnemyGridX() > 0)){
-                for(int i = 1; i < Math.abs(getEnemyGridX() - getTargetGridX()); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x + i][(int) locationCache.y];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || level.isEnemyOnSquare((int)
-                                locationCache.x + i,(int) locationCache.y))
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-
-        return false;
+        int distance = level.getVisibility().getAvatarDistance(getEnemyGridX(), getEnemyGridY(), enemy.getDirection());
+        return distance > 0 && distance < chargeDetectionDistance;
     }
 
+    /**
+     * Returns whether the enemy sees the clone within charge detection distance
+     */
     public boolean cloneInFrontOfEnemy() {
-        if (level.getClone() == null){
-            return false;
-        }
-        locationCache.set(getEnemyGridX(), getEnemyGridY());
-        if (enemy.getDirection() == Dinosaur.UP){
-            if(level.getClone().getGridLocation().x == getEnemyGridX() && (level.getClone().getGridLocation().y - getEnemyGridY() < chargeDetectionDistance) &&
-                    (level.getClone().getGridLocation().y - getEnemyGridY() > 0)) {
-                for(int i = 1; i < Math.abs(getEnemyGridY() - level.getClone().getGridLocation().y); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x][(int) locationCache.y + i];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || g.getType() == ENEMY)
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.DOWN){
-            if(level.getClone().getGridLocation().x == getEnemyGridX() && (getEnemyGridY() - level.getClone().getGridLocation().y < chargeDetectionDistance) &&
-                    (getEnemyGridY() - level.getClone().getGridLocation().y > 0)){
-                for(int i = 1; i < Math.abs(getEnemyGridY() - level.getClone().getGridLocation().y); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x][(int) locationCache.y - i];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || g.getType() == ENEMY)
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.LEFT){
-            if(level.getClone().getGridLocation().y == getEnemyGridY() && (getEnemyGridX() - level.getClone().getGridLocation().x < chargeDetectionDistance) &&
-                    (getEnemyGridX() - level.getClone().getGridLocation().x > 0)){
-
-                for(int i = 1; i < Math.abs(getEnemyGridX() - level.getClone().getGridLocation().x); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x - i][(int) locationCache.y];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || g.getType() == ENEMY)
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.RIGHT){
-            if(level.getClone().getGridLocation().y == getEnemyGridY() && (level.getClone().getGridLocation().x - getEnemyGridX() < chargeDetectionDistance) &&
-                    (level.getClone().getGridLocation().x - getEnemyGridX() > 0)){
-                for(int i = 1; i < Math.abs(getEnemyGridX() - level.getClone().getGridLocation().x); i++) {
-                    GameObject g = level.getGrid()[(int) locationCache.x + i][(int) locationCache.y];
-                    if (g != null) {
-                        if (g.getType() == RIVER || g.getType() == WALL || g.getType() == EDIBLEWALL ||
-                                g.getType() == BOULDER || g.getType() == GOAL || g.getType() == ENEMY)
-                            return false;
-                    }
-                }
-                return true;
-            }
-        }
-
-        return false;
+        int distance = level.getVisibility().getCloneDistance(getEnemyGridX(), getEnemyGridY(), enemy.getDirection());
+        return distance > 0 && distance < chargeDetectionDistance;
     }
 
     public boolean riverInFrontOfEnemy() {
-        locationCache.set(getEnemyGridX(), getEnemyGridY());
-        if (enemy.getDirection() == Dinosaur.UP){
-            GameObject g = level.getGrid()[(int) locationCache.x][(int) locationCache.y+1];
-            if (g != null) {
-                if (g.getType() == RIVER)
-                    return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.DOWN){
-            GameObject g = level.getGrid()[(int) locationCache.x][(int) locationCache.y-1];
-            if (g != null) {
-                if (g.getType() == RIVER)
-                    return true;
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.LEFT){
-            GameObject g = level.getGrid()[(int) locationCache.x-1][(int) locationCache.y];
-            if (g != null) {
-                if (g.getType() == RIVER) {
-                    return true;
-                }
-            }
-        }
-        else if (enemy.getDirection() == Dinosaur.RIGHT){
-            GameObject g = level.getGrid()[(int) locationCache.x+1][(int) locationCache.y];
-            if (g != null) {
-                if (g.getType() == RIVER) {
-                    return true;
-                }
-            }
-        }
+        int x = getEnemyGridX();
+        int y = getEnemyGridY();
+        if (enemy.getDirection() == Dinosaur.UP)
+            return level.isRiver(x, y + 1);
+        else if (enemy.getDirection() == Dinosaur.DOWN)
+            return level.isRiver(x, y - 1);
+        else if (enemy.getDirection() == Dinosaur.LEFT)
+            return level.isRiver(x - 1, y);
+        else if (enemy.getDirection() == Dinosaur.RIGHT)
+            return level.isRiver(x + 1, y);
 
         return false;
     }
@@ -3,13 +3,14 @@ package tiktaalik.trino.enemy;
 import static tiktaalik.trino.duggi.Dinosaur.*;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import tiktaalik.trino.Canvas;
 import tiktaalik.trino.EdibleObject;
 import tiktaalik.trino.GameObject;
+import tiktaalik.trino.Level;
 import tiktaalik.trino.SoundController;
 import tiktaalik.trino.duggi.Clone;
 import tiktaalik.trino.duggi.Dinosaur;
@@ -43,6 +44,8 @@ public class Enemy extends EdibleObject {
     private Clone cloneBeingEaten;
     private int direction;
     private Vector2 gridLocation = new Vector2();
+    private Level level; // Level whose enemy occupancy follows this enemy's position
+    private int occupiedCell = -1; // Cell x * height + y the level counts this enemy on, or -1
     private boolean charging;
     private boolean chargeReady;
     private final float CHARGE_COOLDOWN_DURATION = 0.5f;
@@ -154,8 +157,8 @@ public class Enemy extends EdibleObject {
         return eatingClone;
     }
 
-    public void setTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                              Texture down, int downFrames) {
+    public void setTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                              TextureRegion down, int downFrames) {
         numFrames[LEFT] = leftFrames;
         textureSet[LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[RIGHT] = rightFrames;
@@ -167,8 +170,8 @@ public class Enemy extends EdibleObject {
         origin = new Vector2(textureSet[LEFT].getRegionWidth()/2.0f, textureSet[LEFT].getRegionHeight()/2.0f);
     }
 
-    public void setStunnedTextureSet(Texture left, int leftFrames, Texture right, int rightFrames,
-                                     Texture up, int upFrames, Texture down, int downFrames) {
+    public void setStunnedTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames,
+                                     TextureRegion up, int upFrames, TextureRegion down, int downFrames) {
         numFrames[STUNNED_LEFT] = leftFrames;
         textureSet[STUNNED_LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[STUNNED_RIGHT] = rightFrames;
@@ -179,8 +182,8 @@ public class Enemy extends EdibleObject {
         textureSet[STUNNED_DOWN] = new FilmStrip(down,1,downFrames,downFrames);
     }
 
-    public void setActionLoadingTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                                           Texture down, int downFrames) {
+    public void setActionLoadingTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                                           TextureRegion down, int downFrames) {
         numFrames[ACTION_LOADING_LEFT] = leftFrames;
         textureSet[ACTION_LOADING_LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[ACTION_LOADING_RIGHT] = rightFrames;
@@ -191,8 +194,8 @@ public class Enemy extends EdibleObject {
         textureSet[ACTION_LOADING_DOWN] = new FilmStrip(down,1,downFrames,downFrames);
     }
 
-    public void setActionTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                                    Texture down, int downFrames) {
+    public void setActionTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                                    TextureRegion down, int downFrames) {
         numFrames[ACTION_LEFT] = leftFrames;
         textureSet[ACTION_LEFT] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[ACTION_RIGHT] = rightFrames;
@@ -203,8 +206,8 @@ public class Enemy extends EdibleObject {
         textureSet[ACTION_DOWN] = new FilmStrip(down,1,downFrames,downFrames);
     }
 
-    public void setEatingTextureSet(Texture left, int leftFrames, Texture right, int rightFrames, Texture up, int upFrames,
-                                    Texture down, int downFrames) {
+    public void setEatingTextureSet(TextureRegion left, int leftFrames, TextureRegion right, int rightFrames, TextureRegion up, int upFrames,
+                                    TextureRegion down, int downFrames) {
         numFrames[16] = leftFrames;
         textureSet[16] = new FilmStrip(left,1,leftFrames,leftFrames);
         numFrames[17] = rightFrames;
@@ -215,7 +218,7 @@ public class Enemy extends EdibleObject {
         textureSet[19] = new FilmStrip(down,1,downFrames,downFrames);
     }
 
-    public void setExclamationTextureSet(Texture alert){
+    public void setExclamationTextureSet(TextureRegion alert){
         this.exclamation = new FilmStrip(alert,1,12,12);
     }
 
@@ -295,7 +298,7 @@ public class Enemy extends EdibleObject {
 
 
     public void setGridLocation(Vector2 location){
-        this.gridLocation = location;
+        setGridLocation(location.x, location.y);
     }
 
     public void setGridLocation(float x, float y) {
@@ -303,6 +306,34 @@ public class Enemy extends EdibleObject {
         gridLocation.y = y;
     }
 
+    /**
+     * Sets the level whose enemy occupancy index is told when this enemy moves, or null
+     */
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /** Returns the cell the level's occupancy index counts this enemy on, or -1 */
+    public int getOccupiedCell() {
+        return occupiedCell;
+    }
+
+    public void setOccupiedCell(int cell) {
+        occupiedCell = cell;
+    }
+
+    public void setPosition(Vector2 value) {
+        super.setPosition(value);
+        if (level != null)
+            level.updateEnemyCell(this);
+    }
+
+    public void setPosition(float x, float y) {
+        super.setPosition(x, y);
+        if (level != null)
+            level.updateEnemyCell(this);
+    }
+
     public Vector2 getGridLocation(){
         return gridLocation;
     }
@@ -3,7 +3,7 @@ package tiktaalik.trino.environment;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import tiktaalik.util.PooledList;
+import tiktaalik.util.SwapList;
 
 public class FireFlyAIController {
     private FireFly firefly; // The firefly being controlled by this AIController
@@ -13,7 +13,7 @@ public class FireFlyAIController {
     private float radius = 750f;
     private float fireFlyCircleScale = 3f;
 
-    public FireFlyAIController(int id, PooledList<FireFly> fireFlies, Rectangle bounds) {
+    public FireFlyAIController(int id, SwapList<FireFly> fireFlies, Rectangle bounds) {
         this.firefly = fireFlies.get(id);
 
         // Choose a random location
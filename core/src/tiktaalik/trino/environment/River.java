@@ -10,6 +10,23 @@ import tiktaalik.trino.GameObject;
 import tiktaalik.trino.duggi.Dinosaur;
 
 public class River extends GameObject {
+    // Bits of the neighbor mask, set where the neighboring cell is also a river
+    public static final int LEFT_NEIGHBOR = 1;
+    public static final int RIGHT_NEIGHBOR = 2;
+    public static final int TOP_NEIGHBOR = 4;
+    public static final int BOT_NEIGHBOR = 8;
+    public static final int TOP_LEFT_NEIGHBOR = 16;
+    public static final int TOP_RIGHT_NEIGHBOR = 32;
+    public static final int BOT_RIGHT_NEIGHBOR = 64;
+    public static final int BOT_LEFT_NEIGHBOR = 128;
+    public static final int SIDE_NEIGHBORS = LEFT_NEIGHBOR | RIGHT_NEIGHBOR | TOP_NEIGHBOR | BOT_NEIGHBOR;
+
+    // Slots of the inner corner patches
+    public static final int TOP_LEFT_PATCH = 0;
+    public static final int TOP_RIGHT_PATCH = 1;
+    public static final int BOT_RIGHT_PATCH = 2;
+    public static final int BOT_LEFT_PATCH = 3;
+
     protected PolygonShape shape; // Shape information for this box
     private Vector2 dimension; // The width and height of the box
     private Vector2 sizeCache; // A cache value for when the user wants to access the dimensions
@@ -27,6 +44,8 @@ public class River extends GameObject {
     private boolean hasRockOnIt;
     private TextureRegion rock;
     private Vector2 rockPosition;
+    private int neighborMask; // Which of the eight neighbors are rivers
+    private TextureRegion[] patches = new TextureRegion[4]; // Inner corner patches, null where there is none
 
     /**
      * Creates a new dinosaur at the origin.
@@ -93,6 +112,23 @@ public class River extends GameObject {
     public Vector2 getRockPosition(){return rockPosition;}
     public void setHasRockOnIt(boolean value){this.hasRockOnIt = value;}
     public boolean getHasRockOnit() {return hasRockOnIt;}
+    public int getNeighborMask() {return neighborMask;}
+    public TextureRegion[] getPatches() {return patches;}
+    public void setPatch(int slot, TextureRegion patch) {patches[slot] = patch;}
+
+    /**
+     * Sets which neighboring cells are rivers, also updating the side flags
+     *
+     * @param mask a combination of the *_NEIGHBOR bits
+     */
+    public void setNeighborMask(int mask) {
+        neighborMask = mask;
+        isLeftRiver = (mask & LEFT_NEIGHBOR) != 0;
+        isRightRiver = (mask & RIGHT_NEIGHBOR) != 0;
+        isTopRiver = (mask & TOP_NEIGHBOR) != 0;
+        isBotRiver = (mask & BOT_NEIGHBOR) != 0;
+        isCenterTile = (mask & SIDE_NEIGHBORS) == SIDE_NEIGHBORS;
+    }
 
     /**
      * Returns the dimensions of this box
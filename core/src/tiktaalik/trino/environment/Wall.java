@@ -1,7 +1,6 @@
 package tiktaalik.trino.environment;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
@@ -143,17 +142,17 @@ public class Wall extends EdibleObject {
         setDimension(sizeCache);
     }
 
-    public void setVineTextureSet(Texture vine, int vineFrames) {
+    public void setVineTextureSet(TextureRegion vine, int vineFrames) {
         numFrames[VINE_DROP] = vineFrames;
         textureSet[VINE_DROP] = new FilmStrip(vine,1,vineFrames,vineFrames);
     }
 
-    public void setDoorTextureSet(Texture door, int frames) {
+    public void setDoorTextureSet(TextureRegion door, int frames) {
         numFrames[DOOR] = frames;
         textureSet[DOOR] = new FilmStrip(door, 1, frames, frames);
     }
 
-    public void setLoweredTextureSet(Texture door, int frames) {
+    public void setLoweredTextureSet(TextureRegion door, int frames) {
         numFrames[LOWERED] = frames;
         textureSet[LOWERED] = new FilmStrip(door, 1, frames, frames);
     }
@@ -4,6 +4,7 @@ import org.json.simple.JSONObject;
 import org.json.simple.JSONArray;
 import org.json.simple.parser.JSONParser;
 import tiktaalik.trino.duggi.Dinosaur;
+import tiktaalik.util.IntPairList;
 import tiktaalik.util.PooledList;
 
 import java.io.*;
@@ -74,14 +75,19 @@ public class LevelParser {
     }
 
 
-    public PooledList<Vector2> getAssetList(int level, String key){
+    public IntPairList getAssetList(int level, String key){
+        return getAssetList(level, key, new IntPairList());
+    }
+
+    /** Fills cells with the grid coordinates of the assets under key, reusing its storage */
+    public IntPairList getAssetList(int level, String key, IntPairList cells){
         JSONArray resources = (JSONArray)((JSONObject)((JSONObject)(levels.get(level))).get("GameObjects")).get(key);
-        PooledList<Vector2> tmp = new PooledList<Vector2>();
+        cells.clear();
         for (int i = 0; i < resources.size(); i++){
             JSONObject r = (JSONObject)(resources.get(i));
-            tmp.add(new Vector2((Long)(r.get("x")),(Long)(r.get("y"))));
+            cells.add(((Long)(r.get("x"))).intValue(), ((Long)(r.get("y"))).intValue());
         }
-        return tmp;
+        return cells;
     }
 
     public long getStarTime(int level, int star){
@@ -2,145 +2,204 @@
 
 package tiktaalik.util;
 import com.badlogic.gdx.math.Vector2;
-import tiktaalik.trino.GameController;
-import tiktaalik.trino.GameObject;
-
-import java.util.*;
-
+import com.badlogic.gdx.utils.Pool;
+import tiktaalik.trino.Level;
+
+/**
+ * A reusable 4-connected A* solver bound to a single level.
+ *
+ * All search state lives in flat int arrays indexed by x * height + y. Instead of
+ * clearing those arrays between queries, every entry is tagged with the epoch of the
+ * query that last wrote it, so a cell whose stamp is stale is treated as unvisited.
+ * After the first query on a given grid size, computePath() and getResults() do not
+ * allocate.
+ */
 public class AStar {
     private static final int COST = 1;
 
-    private class Cell implements Comparable<Cell>{
-        int heuristicCost = 0; //Heuristic cost
-        int finalCost = 0; //G+H
-        int i, j;
-        Cell parent;
-
-        Cell(int i, int j) {
-            this.i = i;
-            this.j = j;
-        }
-
-        @Override
-        public String toString() {
-            return "[" + this.i + ", " + this.j + "]";
-        }
+    private Level level;
+    private int width, height;
 
-        public int compareTo(Cell c){
-            return this.finalCost<c.finalCost?-1:
-                    this.finalCost>c.finalCost?1:0;
-        }
-    }
+    // Per-cell search state, valid only where stamp[i] == epoch
+    private int[] gCost;
+    private int[] parent;
+    private int[] stamp;
+    private boolean[] closed;
+    private int epoch;
 
-    //Blocked cells are just null Cell values in grid
-    private Cell[][] grid;
+    // Open set keyed by f, ties broken towards the goal
+    private IndexedHeap open = new IndexedHeap(0);
 
-    private PriorityQueue<Cell> open;
-
-    private boolean closed[][];
-    private int startI, startJ;
     private int endI, endJ;
+    private boolean found;
+    private int expansions;
 
-    public void setBlocked(int i, int j) {
-        grid[i][j] = null;
-    }
-
-    public void checkAndUpdateCost(Cell current, Cell t, int cost) {
-        if (t == null || closed[t.i][t.j]) return;
-        int t_final_cost = t.heuristicCost + cost;
-
-        boolean inOpen = open.contains(t);
-        if (!inOpen || t_final_cost < t.finalCost) {
-            t.finalCost = t_final_cost;
-            t.parent = current;
-            if (!inOpen) open.add(t);
+    private PooledList<Vector2> results = new PooledList<Vector2>();
+    private Pool<Vector2> vectors = new Pool<Vector2>() {
+        protected Vector2 newObject() {
+            return new Vector2();
         }
-    }
+    };
 
-    public AStar(int x, int y, int sx, int sy, int ex, int ey, GameObject[][] blocked) {
+    public AStar(Level level) {
+        this.level = level;
+    }
 
-        //add the start location to open list
-        grid = new Cell[x][y];
-        closed = new boolean[x][y];
-        for(int i=0;i<x;++i){
-            for(int j=0;j<y;++j){
-                grid[i][j] = new Cell(i, j);
-                grid[i][j].heuristicCost = Math.abs(i-endI)+Math.abs(j-endJ);
-//                  System.out.print(grid[i][j].heuristicCost+" ");
-            }
-//              System.out.println();
-        }
-        grid[sx][sy].finalCost = 0;
-
-        for(int i = 0; i < blocked.length; i++){
-            for (int j = 0; j < blocked[i].length; j++) {
-                if (blocked[i][j] != null && blocked[i][j].getType() != GameController.COTTON &&
-                        blocked[i][j].getType() != GameController.ENEMY &&
-                        blocked[i][j].getType() != GameController.SWITCH &&
-                        blocked[i][j].getType() != GameController.FIREFLY) {
-                    setBlocked(i, j);
-                }
-            }
-        }
+    /**
+     * Searches for a path between the given cells.
+     *
+     * @return whether the goal was reached
+     */
+    public boolean computePath(int sx, int sy, int ex, int ey) {
+        ensureCapacity(level.getWidth(), level.getHeight());
+        nextEpoch();
 
-        startI = sx;
-        startJ = sy;
         endI = ex;
         endJ = ey;
+        found = false;
+        expansions = 0;
+        open.clear();
+
+        int start = sx * height + sy;
+        int end = ex * height + ey;
+        touch(start);
+        gCost[start] = 0;
+        parent[start] = -1;
+        open.add(start, key(0, heuristic(sx, sy)));
+
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            closed[current] = true;
+            expansions++;
+
+            if (current == end) {
+                found = true;
+                return true;
+            }
 
-        open = new PriorityQueue<Cell>();
+            int ci = current / height;
+            int cj = current % height;
+            int cost = gCost[current] + COST;
+            if (ci - 1 >= 0)
+                checkAndUpdateCost(current, ci - 1, cj, cost);
+            if (cj - 1 >= 0)
+                checkAndUpdateCost(current, ci, cj - 1, cost);
+            if (cj + 1 < height)
+                checkAndUpdateCost(current, ci, cj + 1, cost);
+            if (ci + 1 < width)
+                checkAndUpdateCost(current, ci + 1, cj, cost);
+        }
+        return false;
+    }
 
+    /**
+     * Returns the number of cells expanded by the last call to computePath
+     */
+    public int getExpansions() {
+        return expansions;
     }
 
-    public void computePath(){
-        Cell current;
-        System.out.println(grid[startI][startJ]);
-        open.add(grid[startI][startJ]);
+    /**
+     * Returns the path found by the last call to computePath, start cell first.
+     *
+     * The list and its vectors are owned by this solver and are recycled by the
+     * next call. If the goal was not reached, the list holds only the goal cell.
+     */
+    public PooledList<Vector2> getResults() {
+        while (results.size() > 0)
+            vectors.free(results.removeHead());
+
+        results.add(vectors.obtain().set(endI, endJ));
+        if (found) {
+            int current = parent[endI * height + endJ];
+            while (current != -1) {
+                results.add(0, vectors.obtain().set(current / height, current % height));
+                current = parent[current];
+            }
+        }
+        return results;
+    }
 
-        while (true) {
-            current = open.poll();
-            if (current == null) break;
-            closed[current.i][current.j] = true;
+    /**
+     * Fills the given path with the result of the last call to computePath, start cell first.
+     *
+     * Unlike getResults(), this walks the parents straight into the packed path and does not
+     * allocate. If the goal was not reached, the path holds only the goal cell.
+     */
+    public void getPath(IntPath path) {
+        path.clear(height);
+        int current = endI * height + endJ;
+        path.prepend(current);
+        if (!found)
+            return;
+
+        current = parent[current];
+        while (current != -1) {
+            path.prepend(current);
+            current = parent[current];
+        }
+    }
 
-            if (current.equals(grid[endI][endJ])) {
+    private void checkAndUpdateCost(int current, int i, int j, int cost) {
+        int t = i * height + j;
+        if (stamp[t] != epoch) {
+            if (isBlocked(i, j))
                 return;
-            }
+            touch(t);
+        } else if (closed[t] || cost >= gCost[t]) {
+            return;
+        }
 
-            Cell t;
-            if (current.i - 1 >= 0) {
-                t = grid[current.i - 1][current.j];
-                checkAndUpdateCost(current, t, current.finalCost + COST);
-            }
+        gCost[t] = cost;
+        parent[t] = current;
+        if (open.contains(t))
+            open.decreaseKey(t, key(cost, heuristic(i, j)));
+        else
+            open.add(t, key(cost, heuristic(i, j)));
+    }
 
-            if (current.j - 1 >= 0) {
-                t = grid[current.i][current.j - 1];
-                checkAndUpdateCost(current, t, current.finalCost + COST);
-            }
+    /** Packs f = g + h into the high word and h into the low word of a heap key */
+    private static long key(int g, int h) {
+        return ((long) (g + h) << 32) | h;
+    }
 
-            if (current.j + 1 < grid[0].length) {
-                t = grid[current.i][current.j + 1];
-                checkAndUpdateCost(current, t, current.finalCost + COST);
-            }
+    private int heuristic(int i, int j) {
+        return Math.abs(i - endI) + Math.abs(j - endJ);
+    }
 
-            if (current.i + 1 < grid.length) {
-                t = grid[current.i + 1][current.j];
-                checkAndUpdateCost(current, t, current.finalCost + COST);
+    /** Claims a cell for the current epoch, resetting its stale search state */
+    private void touch(int t) {
+        stamp[t] = epoch;
+        gCost[t] = Integer.MAX_VALUE;
+        closed[t] = false;
+        parent[t] = -1;
+    }
 
-            }
+    private void nextEpoch() {
+        if (epoch == Integer.MAX_VALUE) {
+            for (int k = 0; k < stamp.length; k++)
+                stamp[k] = 0;
+            epoch = 0;
         }
+        epoch++;
     }
 
-    public PooledList<Vector2> getResults(){
-        PooledList<Vector2>coords = new PooledList<Vector2>();
-        coords.add(new Vector2(endI, endJ));
-        if(closed[endI][endJ]) {
-            Cell current = grid[endI][endJ];
-            while (current.parent != null) {
-                coords.add(0, new Vector2(current.parent.i, current.parent.j));
-                current = current.parent;
-            }
-        }
+    private boolean isBlocked(int i, int j) {
+        return level.isBlocked(i, j);
+    }
 
-        return coords;
+    private void ensureCapacity(int w, int h) {
+        if (w == width && h == height && stamp != null)
+            return;
+
+        width = w;
+        height = h;
+        int n = w * h;
+        gCost = new int[n];
+        parent = new int[n];
+        stamp = new int[n];
+        closed = new boolean[n];
+        open.ensureCapacity(n);
+        epoch = 0;
     }
 }
@@ -0,0 +1,159 @@
+package tiktaalik.util;
+
+/**
+ * A sparse 2D bitset stored in square chunks allocated on demand.
+ *
+ * This is the bit layer counterpart of ChunkedGrid: a chunk only takes memory while at
+ * least one of its bits is set, and is released again once it is cleared, so a large
+ * map that is mostly empty costs one null reference per chunk. Bits of a chunk are
+ * packed by localX * chunkSize + localY. Scans along rows and columns skip empty
+ * chunks without looking at their cells.
+ *
+ * Cells outside the grid read as clear.
+ */
+public class ChunkedBits {
+    private int width, height;
+    private int chunkSize;
+    private int chunksHigh;
+
+    /** Bits of each chunk, or null if none is set */
+    private long[][] chunks;
+    /** Number of set bits in each chunk */
+    private int[] counts;
+
+    public ChunkedBits(int width, int height, int chunkSize) {
+        this.width = width;
+        this.height = height;
+        this.chunkSize = chunkSize;
+        chunksHigh = (height + chunkSize - 1) / chunkSize;
+        int chunksWide = (width + chunkSize - 1) / chunkSize;
+        chunks = new long[chunksWide * chunksHigh][];
+        counts = new int[chunks.length];
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public boolean get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return false;
+
+        long[] chunk = chunks[chunkIndex(x, y)];
+        return chunk != null && test(chunk, localIndex(x, y));
+    }
+
+    /** Sets or clears a cell, allocating or releasing its chunk as needed */
+    public void set(int x, int y, boolean value) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            throw new IndexOutOfBoundsException("Cell (" + x + ", " + y + ") is outside the grid");
+
+        int c = chunkIndex(x, y);
+        long[] chunk = chunks[c];
+        if (chunk == null) {
+            if (!value)
+                return;
+            chunk = new long[(chunkSize * chunkSize + 63) >>> 6];
+            chunks[c] = chunk;
+        }
+
+        int local = localIndex(x, y);
+        if (test(chunk, local) == value)
+            return;
+        if (value) {
+            chunk[local >>> 6] |= 1L << local;
+            counts[c]++;
+        } else {
+            chunk[local >>> 6] &= ~(1L << local);
+            if (--counts[c] == 0)
+                chunks[c] = null;
+        }
+    }
+
+    /**
+     * Returns whether any cell of the inclusive rectangle [x0, x1] x [y0, y1] is set.
+     *
+     * An empty rectangle, with x0 > x1 or y0 > y1, has no set cell.
+     */
+    public boolean any(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(x0, 0);
+        y0 = Math.max(y0, 0);
+        x1 = Math.min(x1, width - 1);
+        y1 = Math.min(y1, height - 1);
+        if (x0 > x1 || y0 > y1)
+            return false;
+
+        for (int cx = x0 / chunkSize; cx <= x1 / chunkSize; cx++) {
+            for (int cy = y0 / chunkSize; cy <= y1 / chunkSize; cy++) {
+                long[] chunk = chunks[cx * chunksHigh + cy];
+                if (chunk == null)
+                    continue;
+
+                int fromX = Math.max(x0, cx * chunkSize);
+                int toX = Math.min(x1, cx * chunkSize + chunkSize - 1);
+                int fromY = Math.max(y0, cy * chunkSize);
+                int toY = Math.min(y1, cy * chunkSize + chunkSize - 1);
+                for (int x = fromX; x <= toX; x++) {
+                    for (int y = fromY; y <= toY; y++) {
+                        if (test(chunk, localIndex(x, y)))
+                            return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns how many steps it takes from a cell to reach a set cell along a row or column.
+     *
+     * If no set cell is met, this is the number of steps to leave the grid. Empty chunks
+     * on the way are crossed in a single step.
+     *
+     * @param dx the horizontal step, -1, 0 or 1
+     * @param dy the vertical step, -1, 0 or 1; exactly one of dx and dy must be 0
+     */
+    public int stepsToSet(int x, int y, int dx, int dy) {
+        int steps = 0;
+        while (true) {
+            x += dx;
+            y += dy;
+            steps++;
+            if (x < 0 || y < 0 || x >= width || y >= height)
+                return steps;
+
+            long[] chunk = chunks[chunkIndex(x, y)];
+            if (chunk != null) {
+                if (test(chunk, localIndex(x, y)))
+                    return steps;
+                continue;
+            }
+
+            // Nothing is set in this chunk, so move to its last cell along the line
+            int skip;
+            if (dx > 0)
+                skip = Math.min(chunkSize - 1 - x % chunkSize, width - 1 - x);
+            else if (dx < 0)
+                skip = x % chunkSize;
+            else if (dy > 0)
+                skip = Math.min(chunkSize - 1 - y % chunkSize, height - 1 - y);
+            else
+                skip = y % chunkSize;
+            x += dx * skip;
+            y += dy * skip;
+            steps += skip;
+        }
+    }
+
+    private int chunkIndex(int x, int y) {
+        return (x / chunkSize) * chunksHigh + y / chunkSize;
+    }
+
+    private int localIndex(int x, int y) {
+        return (x % chunkSize) * chunkSize + y % chunkSize;
+    }
+
+    private static boolean test(long[] chunk, int local) {
+        return (chunk[local >>> 6] & (1L << local)) != 0;
+    }
+}
@@ -0,0 +1,191 @@
+package tiktaalik.util;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A sparse 2D grid of objects stored in square chunks allocated on demand.
+ *
+ * Only chunks holding at least one object take memory, and a chunk is released again
+ * once it is emptied, so large maps that are mostly empty stay small. Cells of a chunk
+ * are stored together, which keeps neighborhood lookups within a few cache lines.
+ * Iteration only visits occupied chunks.
+ *
+ * Cells outside the grid read as null.
+ */
+public class ChunkedGrid<T> implements Iterable<T> {
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    private int width, height;
+    private int chunkSize;
+    private int chunksWide, chunksHigh;
+
+    /** Cells of each chunk, indexed by localX * chunkSize + localY, or null if empty */
+    private Object[][] chunks;
+    /** Number of non-null cells in each chunk */
+    private int[] counts;
+    /** Indices of the allocated chunks, in no particular order */
+    private IntArray occupied = new IntArray();
+    /** Position of each chunk in occupied, or -1 */
+    private int[] slots;
+    private int size;
+
+    public ChunkedGrid(int width, int height) {
+        this(width, height, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedGrid(int width, int height, int chunkSize) {
+        this.width = width;
+        this.height = height;
+        this.chunkSize = chunkSize;
+        chunksWide = (width + chunkSize - 1) / chunkSize;
+        chunksHigh = (height + chunkSize - 1) / chunkSize;
+        chunks = new Object[chunksWide * chunksHigh][];
+        counts = new int[chunks.length];
+        slots = new int[chunks.length];
+        for (int k = 0; k < slots.length; k++)
+            slots[k] = -1;
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public int getChunkSize() { return chunkSize; }
+
+    /** Returns the number of non-null cells */
+    public int size() { return size; }
+
+    @SuppressWarnings("unchecked")
+    public T get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return null;
+
+        Object[] chunk = chunks[chunkIndex(x, y)];
+        return chunk == null ? null : (T) chunk[localIndex(x, y)];
+    }
+
+    /**
+     * Stores a value in a cell, allocating or releasing its chunk as needed
+     *
+     * @return the value previously in the cell
+     */
+    @SuppressWarnings("unchecked")
+    public T set(int x, int y, T value) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            throw new IndexOutOfBoundsException("Cell (" + x + ", " + y + ") is outside the grid");
+
+        int c = chunkIndex(x, y);
+        Object[] chunk = chunks[c];
+        if (chunk == null) {
+            if (value == null)
+                return null;
+            chunk = new Object[chunkSize * chunkSize];
+            chunks[c] = chunk;
+            slots[c] = occupied.size;
+            occupied.add(c);
+        }
+
+        int local = localIndex(x, y);
+        T old = (T) chunk[local];
+        chunk[local] = value;
+        if (old == null && value != null) {
+            counts[c]++;
+            size++;
+        } else if (old != null && value == null) {
+            counts[c]--;
+            size--;
+            if (counts[c] == 0)
+                release(c);
+        }
+        return old;
+    }
+
+    /** Removes every value and releases every chunk */
+    public void clear() {
+        for (int k = 0; k < occupied.size; k++) {
+            int c = occupied.get(k);
+            chunks[c] = null;
+            counts[c] = 0;
+            slots[c] = -1;
+        }
+        occupied.clear();
+        size = 0;
+    }
+
+    /** Returns the number of allocated chunks */
+    public int getOccupiedChunkCount() { return occupied.size; }
+
+    /** Returns the index of the k-th allocated chunk */
+    public int getOccupiedChunk(int k) { return occupied.get(k); }
+
+    /** Returns the leftmost cell column covered by a chunk */
+    public int getChunkX(int chunk) { return (chunk / chunksHigh) * chunkSize; }
+
+    /** Returns the lowest cell row covered by a chunk */
+    public int getChunkY(int chunk) { return (chunk % chunksHigh) * chunkSize; }
+
+    /** Returns the index of the chunk holding a cell */
+    public int chunkIndex(int x, int y) {
+        return (x / chunkSize) * chunksHigh + y / chunkSize;
+    }
+
+    /**
+     * Returns an iterator over the non-null values, visiting only allocated chunks.
+     *
+     * The grid must not be modified during iteration.
+     */
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int chunk;
+            private int cell = -1;
+            private T next = advance();
+
+            @SuppressWarnings("unchecked")
+            private T advance() {
+                while (chunk < occupied.size) {
+                    Object[] cells = chunks[occupied.get(chunk)];
+                    while (++cell < cells.length) {
+                        if (cells[cell] != null)
+                            return (T) cells[cell];
+                    }
+                    chunk++;
+                    cell = -1;
+                }
+                return null;
+            }
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public T next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                T result = next;
+                next = advance();
+                return result;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private int localIndex(int x, int y) {
+        return (x % chunkSize) * chunkSize + y % chunkSize;
+    }
+
+    private void release(int c) {
+        chunks[c] = null;
+        int slot = slots[c];
+        int last = occupied.pop();
+        if (last != c) {
+            occupied.set(slot, last);
+            slots[last] = slot;
+        }
+        slots[c] = -1;
+    }
+}
@@ -0,0 +1,132 @@
+package tiktaalik.util;
+import tiktaalik.trino.GridAdapter;
+import tiktaalik.trino.Level;
+
+/**
+ * A breadth-first distance field over the level grid from a single source cell.
+ *
+ * Every walkable cell stores its 4-connected step distance to the source, so any
+ * number of agents chasing the same target can each pick their next cell in O(1)
+ * by moving to a neighbor with a smaller distance. The field is only rebuilt when
+ * the source changes cells or the level grid changes.
+ *
+ * Unlike the level's layers, the field is dense: it spans the whole grid, because a
+ * chase can cover any walkable cell. Its arrays are only allocated by the first update.
+ */
+public class DistanceField extends GridAdapter {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private Level level;
+    private int width, height;
+
+    private int[] distance;
+    private int[] queue;
+
+    private int source = -1;
+    private boolean dirty = true;
+
+    public DistanceField(Level level) {
+        this.level = level;
+        level.addGridListener(this);
+    }
+
+    /** Stops listening to the level grid */
+    public void dispose() {
+        level.removeGridListener(this);
+    }
+
+    public void cellChanged(int x, int y) {
+        dirty = true;
+    }
+
+    /**
+     * Rebuilds the field if the source cell or the grid has changed.
+     *
+     * @return whether the field was rebuilt
+     */
+    public boolean update(int sx, int sy) {
+        ensureCapacity(level.getWidth(), level.getHeight());
+        if (sx < 0 || sy < 0 || sx >= width || sy >= height)
+            return false;
+
+        int s = sx * height + sy;
+        if (!dirty && s == source)
+            return false;
+
+        source = s;
+        dirty = false;
+        for (int k = 0; k < distance.length; k++)
+            distance[k] = UNREACHABLE;
+
+        int head = 0;
+        int tail = 0;
+        distance[s] = 0;
+        queue[tail++] = s;
+        while (head < tail) {
+            int c = queue[head++];
+            int ci = c / height;
+            int cj = c % height;
+            int d = distance[c] + 1;
+            if (ci - 1 >= 0 && visit(c - height, ci - 1, cj, d))
+                queue[tail++] = c - height;
+            if (cj - 1 >= 0 && visit(c - 1, ci, cj - 1, d))
+                queue[tail++] = c - 1;
+            if (cj + 1 < height && visit(c + 1, ci, cj + 1, d))
+                queue[tail++] = c + 1;
+            if (ci + 1 < width && visit(c + height, ci + 1, cj, d))
+                queue[tail++] = c + height;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of steps from the given cell to the source
+     *
+     * @return the distance, or UNREACHABLE
+     */
+    public int getDistance(int x, int y) {
+        if (distance == null || x < 0 || y < 0 || x >= width || y >= height)
+            return UNREACHABLE;
+        return distance[x * height + y];
+    }
+
+    /**
+     * Returns the neighboring cell one step closer to the source.
+     *
+     * @return the cell as x * height + y, or -1 if there is none
+     */
+    public int getNextCell(int x, int y) {
+        int d = getDistance(x, y);
+        if (d == UNREACHABLE || d == 0)
+            return -1;
+
+        int c = x * height + y;
+        if (x - 1 >= 0 && distance[c - height] < d)
+            return c - height;
+        if (x + 1 < width && distance[c + height] < d)
+            return c + height;
+        if (y - 1 >= 0 && distance[c - 1] < d)
+            return c - 1;
+        if (y + 1 < height && distance[c + 1] < d)
+            return c + 1;
+        return -1;
+    }
+
+    private boolean visit(int c, int i, int j, int d) {
+        if (distance[c] != UNREACHABLE || level.isBlocked(i, j))
+            return false;
+        distance[c] = d;
+        return true;
+    }
+
+    private void ensureCapacity(int w, int h) {
+        if (w == width && h == height && distance != null)
+            return;
+
+        width = w;
+        height = h;
+        distance = new int[w * h];
+        queue = new int[w * h];
+        dirty = true;
+    }
+}
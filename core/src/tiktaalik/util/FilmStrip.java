@@ -38,6 +38,9 @@ public class FilmStrip extends TextureRegion {
 	/** The number of columns in this filmstrip */
 	private int cols;
 	
+	/** The position of the strip within its texture */
+	private int rx, ry;
+	
 	/** The width of a single frame; computed from column count */
 	private int rwidth;
 	
@@ -74,15 +77,47 @@ public class FilmStrip extends TextureRegion {
 	 * @param size The number of frames in the filmstrip
 	 */
 	public FilmStrip(Texture texture, int rows, int cols, int size) {
-		super(texture);
+		this(new TextureRegion(texture),rows,cols,size);
+	}
+	
+	/**
+	 * Creates a new filmstrip from the given texture region.
+	 * 
+	 * The frames are laid out inside the region, so the strip may be one
+	 * of many images packed into a texture atlas.
+	 * 
+	 * @param region The texture region to use
+	 * @param rows The number of rows in the filmstrip
+	 * @param cols The number of columns in the filmstrip
+	 */
+	public FilmStrip(TextureRegion region, int rows, int cols) {
+		this(region,rows,cols,rows*cols);
+	}
+	
+	/**
+	 * Creates a new filmstrip from the given texture region.
+	 * 
+	 * The parameter size is to indicate that there are unused frames in
+	 * the filmstrip.  The value size must be less than or equal to
+	 * rows*cols, or this constructor will raise an error.
+	 * 
+	 * @param region The texture region to use
+	 * @param rows The number of rows in the filmstrip
+	 * @param cols The number of columns in the filmstrip
+	 * @param size The number of frames in the filmstrip
+	 */
+	public FilmStrip(TextureRegion region, int rows, int cols, int size) {
+		super(region);
 		if (size > rows*cols) {
 			Gdx.app.error("FilmStrip", "Invalid strip size", new IllegalArgumentException());
 			return;
 		}
 		this.cols = cols;
 		this.size = size;
-		rwidth  = texture.getWidth()/cols;
-		rheight = texture.getHeight()/rows;
+		rx = region.getRegionX();
+		ry = region.getRegionY();
+		rwidth  = region.getRegionWidth()/cols;
+		rheight = region.getRegionHeight()/rows;
 		setFrame(0);
 	}
 	
@@ -117,8 +152,8 @@ public class FilmStrip extends TextureRegion {
 			return;
 		}
 		this.frame = frame;
-		int x = (frame % cols)*rwidth;
-		int y = (frame / cols)*rheight;
+		int x = rx+(frame % cols)*rwidth;
+		int y = ry+(frame / cols)*rheight;
 		setRegion(x,y,rwidth,rheight);
 	}
 
@@ -0,0 +1,296 @@
+/*
+ * IndexedHeap.java
+ *
+ * A binary min-heap over integer ids (typically flattened grid cells) that also
+ * remembers where every id sits in the heap.  That back-pointer is what gives us
+ * O(1) membership tests and O(log n) decrease-key, neither of which is offered by
+ * java.util.PriorityQueue.  Everything is stored in primitive arrays, so once the
+ * heap has been sized it never allocates.
+ */
+package tiktaalik.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An index-addressable binary min-heap with long priorities.
+ *
+ * Ids must lie in the range [0, capacity).  Each id can be in the heap at most once.
+ */
+public class IndexedHeap {
+	/** The ids in heap order */
+	private int[] heap;
+	/** The position of each id in heap, or -1 if absent */
+	private int[] position;
+	/** The priority of each id; only meaningful while the id is in the heap */
+	private long[] keys;
+	/** The number of ids in the heap */
+	private int size;
+
+	/**
+	 * Creates a new empty heap for ids in [0, capacity)
+	 *
+	 * @param capacity the number of distinct ids supported
+	 */
+	public IndexedHeap(int capacity) {
+		heap = new int[0];
+		position = new int[0];
+		keys = new long[0];
+		ensureCapacity(capacity);
+	}
+
+	/**
+	 * Grows the heap so that it supports ids in [0, capacity)
+	 *
+	 * This clears the heap if it has to reallocate.
+	 *
+	 * @param capacity the number of distinct ids supported
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity <= position.length) {
+			return;
+		}
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new long[capacity];
+		for (int ii = 0; ii < capacity; ii++) {
+			position[ii] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of ids supported by this heap
+	 *
+	 * @return the number of ids supported by this heap
+	 */
+	public int capacity() {
+		return position.length;
+	}
+
+	/**
+	 * Returns the number of ids in the heap
+	 *
+	 * @return the number of ids in the heap
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the heap is empty
+	 *
+	 * @return true if the heap is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all ids from the heap.
+	 *
+	 * This is O(size), not O(capacity).
+	 */
+	public void clear() {
+		for (int ii = 0; ii < size; ii++) {
+			position[heap[ii]] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Returns true if the id is in the heap
+	 *
+	 * @param id the id to check
+	 *
+	 * @return true if the id is in the heap
+	 */
+	public boolean contains(int id) {
+		return position[id] >= 0;
+	}
+
+	/**
+	 * Returns the priority of an id in the heap
+	 *
+	 * @param id the id to check
+	 *
+	 * @return the priority of an id in the heap
+	 */
+	public long getKey(int id) {
+		if (position[id] < 0) {
+			throw new NoSuchElementException();
+		}
+		return keys[id];
+	}
+
+	/**
+	 * Adds an id to the heap
+	 *
+	 * @param id  the id to add
+	 * @param key the priority of the id
+	 */
+	public void add(int id, long key) {
+		if (position[id] >= 0) {
+			throw new IllegalStateException("Id " + id + " is already in the heap");
+		}
+		keys[id] = key;
+		heap[size] = id;
+		position[id] = size;
+		size++;
+		siftUp(size - 1);
+	}
+
+	/**
+	 * Lowers the priority of an id already in the heap
+	 *
+	 * Does nothing if the new priority is not lower.
+	 *
+	 * @param id  the id to update
+	 * @param key the new priority of the id
+	 */
+	public void decreaseKey(int id, long key) {
+		if (position[id] < 0) {
+			throw new NoSuchElementException();
+		}
+		if (key < keys[id]) {
+			keys[id] = key;
+			siftUp(position[id]);
+		}
+	}
+
+	/**
+	 * Adds the id to the heap, or changes its priority if already present
+	 *
+	 * @param id  the id to update
+	 * @param key the new priority of the id
+	 */
+	public void update(int id, long key) {
+		int pos = position[id];
+		if (pos < 0) {
+			add(id, key);
+		} else if (key < keys[id]) {
+			keys[id] = key;
+			siftUp(pos);
+		} else if (key > keys[id]) {
+			keys[id] = key;
+			siftDown(pos);
+		}
+	}
+
+	/**
+	 * Removes the id from the heap if present
+	 *
+	 * @param id the id to remove
+	 *
+	 * @return true if the id was in the heap
+	 */
+	public boolean remove(int id) {
+		int pos = position[id];
+		if (pos < 0) {
+			return false;
+		}
+		size--;
+		position[id] = -1;
+		if (pos < size) {
+			int last = heap[size];
+			heap[pos] = last;
+			position[last] = pos;
+			siftDown(pos);
+			siftUp(position[last]);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the id with the lowest priority
+	 *
+	 * @return the id with the lowest priority
+	 */
+	public int peek() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return heap[0];
+	}
+
+	/**
+	 * Returns the lowest priority in the heap
+	 *
+	 * @return the lowest priority in the heap
+	 */
+	public long peekKey() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return keys[heap[0]];
+	}
+
+	/**
+	 * Removes the id with the lowest priority
+	 *
+	 * @return the id removed
+	 */
+	public int poll() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		int top = heap[0];
+		size--;
+		position[top] = -1;
+		if (size > 0) {
+			int last = heap[size];
+			heap[0] = last;
+			position[last] = 0;
+			siftDown(0);
+		}
+		return top;
+	}
+
+	/**
+	 * Moves the entry at pos towards the root until the heap property holds
+	 *
+	 * @param pos the heap position to sift
+	 */
+	private void siftUp(int pos) {
+		int id = heap[pos];
+		long key = keys[id];
+		while (pos > 0) {
+			int up = (pos - 1) >>> 1;
+			int other = heap[up];
+			if (keys[other] <= key) {
+				break;
+			}
+			heap[pos] = other;
+			position[other] = pos;
+			pos = up;
+		}
+		heap[pos] = id;
+		position[id] = pos;
+	}
+
+	/**
+	 * Moves the entry at pos towards the leaves until the heap property holds
+	 *
+	 * @param pos the heap position to sift
+	 */
+	private void siftDown(int pos) {
+		int id = heap[pos];
+		long key = keys[id];
+		int half = size >>> 1;
+		while (pos < half) {
+			int child = 2 * pos + 1;
+			int right = child + 1;
+			if (right < size && keys[heap[right]] < keys[heap[child]]) {
+				child = right;
+			}
+			int other = heap[child];
+			if (key <= keys[other]) {
+				break;
+			}
+			heap[pos] = other;
+			position[other] = pos;
+			pos = child;
+		}
+		heap[pos] = id;
+		position[id] = pos;
+	}
+}
@@ -0,0 +1,71 @@
+package tiktaalik.util;
+
+/**
+ * A growable list of integer (x, y) pairs, such as grid coordinates.
+ *
+ * Pairs are stored side by side in a single int array, so adding one does not box it
+ * in a Vector2 or a list node. The array is kept across clear(), so one list can be
+ * refilled for every asset type of every level without growing again.
+ */
+public class IntPairList {
+    /** x of pair k at 2k, y at 2k + 1 */
+    private int[] items;
+    private int size;
+
+    public IntPairList() {
+        this(16);
+    }
+
+    public IntPairList(int capacity) {
+        items = new int[Math.max(capacity, 1) * 2];
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int getX(int index) {
+        checkIndex(index);
+        return items[index * 2];
+    }
+
+    public int getY(int index) {
+        checkIndex(index);
+        return items[index * 2 + 1];
+    }
+
+    /** Appends a pair to the end of the list */
+    public void add(int x, int y) {
+        if (size * 2 == items.length) {
+            int[] larger = new int[items.length * 2];
+            System.arraycopy(items, 0, larger, 0, size * 2);
+            items = larger;
+        }
+        items[size * 2] = x;
+        items[size * 2 + 1] = y;
+        size++;
+    }
+
+    /** Returns the index of the first pair equal to (x, y), or -1 */
+    public int indexOf(int x, int y) {
+        for (int k = 0; k < size; k++) {
+            if (items[k * 2] == x && items[k * 2 + 1] == y)
+                return k;
+        }
+        return -1;
+    }
+
+    public boolean contains(int x, int y) {
+        return indexOf(x, y) != -1;
+    }
+
+    /** Removes every pair, keeping the array for reuse */
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is not below size " + size);
+    }
+}
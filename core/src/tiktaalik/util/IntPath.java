@@ -0,0 +1,80 @@
+package tiktaalik.util;
+
+/**
+ * A path of grid cells packed into an int array, read from a cursor at its head.
+ *
+ * Cells are stored as x * height + y. Solvers fill a path backwards from the goal with
+ * prepend(), and followers read the head and advance() past it, so neither side moves
+ * elements or allocates once the array is large enough.
+ */
+public class IntPath {
+    private int[] cells;
+    /** Index of the current head cell */
+    private int head;
+    /** Index one past the last cell */
+    private int tail;
+    private int height;
+
+    public IntPath() {
+        this(32);
+    }
+
+    public IntPath(int capacity) {
+        cells = new int[Math.max(capacity, 1)];
+        head = tail = cells.length;
+    }
+
+    /**
+     * Empties the path for cells of a grid with the given height
+     */
+    public void clear(int height) {
+        this.height = height;
+        head = tail = cells.length;
+    }
+
+    public int getHeight() { return height; }
+
+    public int size() { return tail - head; }
+
+    public boolean isEmpty() { return head == tail; }
+
+    /** Returns the packed head cell */
+    public int peek() { return cells[head]; }
+
+    public int peekX() { return cells[head] / height; }
+
+    public int peekY() { return cells[head] % height; }
+
+    /** Returns the packed k-th cell after the head */
+    public int get(int k) { return cells[head + k]; }
+
+    /** Returns the packed last cell */
+    public int getLast() { return cells[tail - 1]; }
+
+    /** Drops the head cell */
+    public void advance() {
+        if (head < tail)
+            head++;
+    }
+
+    /** Adds a cell in front of the head */
+    public void prepend(int cell) {
+        if (head == 0)
+            grow();
+        cells[--head] = cell;
+    }
+
+    public void prepend(int x, int y) {
+        prepend(x * height + y);
+    }
+
+    /** Doubles the array, keeping the cells at its end so there is room to prepend */
+    private void grow() {
+        int size = tail - head;
+        int[] larger = new int[cells.length * 2];
+        System.arraycopy(cells, head, larger, larger.length - size, size);
+        cells = larger;
+        head = larger.length - size;
+        tail = larger.length;
+    }
+}
@@ -52,6 +52,15 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			return value;
 		}
 		
+		/**
+		 * Replaces the value for this entry in place
+		 *
+		 * @param value the new value for this entry
+		 */
+		public void setValue(E value) {
+			this.value = value;
+		}
+		
 		/**
 		 * Removes this entry from the list in place
 		 *
@@ -243,9 +252,23 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 	 * @return whether the addition succeeeded
 	 */
 	public boolean add(E e) {
+		return addEntry(e) != null;
+	}
+
+	/**
+	 * Appends the specified element to the end of this list and returns its entry
+	 *
+	 * Keeping the entry lets the element be removed later in O(1) with Entry.remove().
+	 * Entries are recycled once removed, so drop the reference at that point.
+	 *
+	 * @param e  the element to add
+	 *
+	 * @return the new entry, or null if the addition failed
+	 */
+	public Entry addEntry(E e) {
 		Entry entry = memory.obtain();
 		if (entry == null) {
-			return false;
+			return null;
 		}
 		entry.value = e;
 		entry.prev = tail;
@@ -256,7 +279,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 		}
 		tail = entry;
 		size++;
-		return true;
+		return entry;
 	}
 
 	/** 
@@ -0,0 +1,156 @@
+package tiktaalik.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An unordered list backed by a single growable array.
+ *
+ * Unlike PooledList, get() is a plain array read, so index loops over the list stay
+ * O(n) in total. Removal moves the last element into the freed slot instead of
+ * shifting the rest, which makes it O(1) but does not preserve order. Nothing is
+ * allocated per element, and the array is kept across clear() so a list that is
+ * refilled every level does not grow again.
+ *
+ * The list hands out a single cached iterator, so it must not be iterated by two
+ * loops at once. Removing through that iterator is safe: the element moved into
+ * the removed slot is visited next.
+ */
+public class SwapList<E> implements Iterable<E> {
+    private Object[] items;
+    private int size;
+
+    private ValueIterator iterator = new ValueIterator();
+
+    public SwapList() {
+        this(16);
+    }
+
+    public SwapList(int capacity) {
+        items = new Object[Math.max(capacity, 1)];
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is not below size " + size);
+        return (E) items[index];
+    }
+
+    /**
+     * Replaces the element at the given index
+     *
+     * @return the element previously at that index
+     */
+    public E set(int index, E value) {
+        E old = get(index);
+        items[index] = value;
+        return old;
+    }
+
+    /**
+     * Appends an element to the end of the list
+     *
+     * @return the index the element was stored at
+     */
+    public int add(E value) {
+        if (size == items.length) {
+            Object[] larger = new Object[items.length * 2];
+            System.arraycopy(items, 0, larger, 0, size);
+            items = larger;
+        }
+        items[size] = value;
+        return size++;
+    }
+
+    /**
+     * Removes the element at the given index, moving the last element into its place
+     *
+     * @return the removed element
+     */
+    public E removeIndex(int index) {
+        E old = get(index);
+        size--;
+        items[index] = items[size];
+        items[size] = null;
+        return old;
+    }
+
+    /**
+     * Removes the first occurrence of a value, moving the last element into its place
+     *
+     * @return whether the value was found
+     */
+    public boolean removeValue(E value) {
+        int index = indexOf(value);
+        if (index == -1)
+            return false;
+        removeIndex(index);
+        return true;
+    }
+
+    /** Returns the index of the first occurrence of a value, or -1 */
+    public int indexOf(E value) {
+        for (int k = 0; k < size; k++) {
+            if (items[k] == value || (value != null && value.equals(items[k])))
+                return k;
+        }
+        return -1;
+    }
+
+    public boolean contains(E value) {
+        return indexOf(value) != -1;
+    }
+
+    /** Removes every element, keeping the array for reuse */
+    public void clear() {
+        for (int k = 0; k < size; k++)
+            items[k] = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the cached iterator, reset to the start of the list.
+     *
+     * Each call invalidates any iteration still in progress.
+     */
+    public Iterator<E> iterator() {
+        iterator.reset();
+        return iterator;
+    }
+
+    private class ValueIterator implements Iterator<E> {
+        /** Index of the next element to return */
+        private int next;
+        private boolean canRemove;
+
+        void reset() {
+            next = 0;
+            canRemove = false;
+        }
+
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (next >= size)
+                throw new NoSuchElementException();
+            canRemove = true;
+            return (E) items[next++];
+        }
+
+        public void remove() {
+            if (!canRemove)
+                throw new IllegalStateException();
+            // The last element moves into the removed slot, so visit that slot again
+            removeIndex(--next);
+            canRemove = false;
+        }
+    }
+}
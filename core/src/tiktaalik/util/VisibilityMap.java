@@ -0,0 +1,171 @@
+package tiktaalik.util;
+import tiktaalik.trino.GridAdapter;
+import tiktaalik.trino.Level;
+import tiktaalik.trino.duggi.Dinosaur;
+
+/**
+ * Tracks every cell from which the avatar or the clone can be seen.
+ *
+ * Sight only runs along rows and columns, so the cells that see a target are the four
+ * straight lines leading away from it, each ending at a sight blocker or the level edge.
+ * Enemies do not block sight, except that an enemy standing on a cell that holds a
+ * walkable grid object (a cotton flower or a switch) hides the avatar from the enemies
+ * behind it, as the original per-enemy check did. Only the length of each line is kept, so
+ * the map costs a few ints whatever the size of the level. An enemy on one of the lines
+ * sees the target only while facing back along it, and a lookup is a few comparisons
+ * instead of a walk from the enemy's cell.
+ *
+ * The map is only recomputed when a target changes cells or visibility, the grid
+ * changes, or it is told that an enemy changed cells.
+ */
+public class VisibilityMap extends GridAdapter {
+    private static final int AVATAR = 0;
+    private static final int CLONE = 1;
+
+    private Level level;
+
+    // Per target, its cell and how many cells of each line away from it see it,
+    // indexed by the Dinosaur direction leading away from the target
+    private int[] targetX = new int[2];
+    private int[] targetY = new int[2];
+    private boolean[] marked = new boolean[2];
+    private int[][] reach = new int[2][4];
+
+    // Arguments of the last update
+    private int avatarX, avatarY, cloneX, cloneY;
+    private boolean avatarVisible;
+    private boolean dirty = true;
+
+    public VisibilityMap(Level level) {
+        this.level = level;
+        level.addGridListener(this);
+    }
+
+    public void cellChanged(int x, int y) {
+        dirty = true;
+    }
+
+    /** Forces the next update to recompute the map, as when an enemy changes cells */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Recomputes which cells see the avatar and the clone, if anything they depend on changed.
+     *
+     * Pass a negative clone cell when there is no clone. An avatar that cannot be seen
+     * (camouflaged) marks no cells. Enemies on cotton flowers and switches block sight of
+     * the avatar but not of the clone.
+     *
+     * @return whether the map was recomputed
+     */
+    public boolean update(int avatarX, int avatarY, boolean avatarVisible, int cloneX, int cloneY) {
+        if (!dirty && avatarX == this.avatarX && avatarY == this.avatarY &&
+                avatarVisible == this.avatarVisible && cloneX == this.cloneX && cloneY == this.cloneY)
+            return false;
+
+        this.avatarX = avatarX;
+        this.avatarY = avatarY;
+        this.avatarVisible = avatarVisible;
+        this.cloneX = cloneX;
+        this.cloneY = cloneY;
+        dirty = false;
+        marked[AVATAR] = false;
+        marked[CLONE] = false;
+        if (avatarVisible)
+            mark(AVATAR, avatarX, avatarY, true);
+        if (cloneX >= 0 && cloneY >= 0)
+            mark(CLONE, cloneX, cloneY, false);
+        return true;
+    }
+
+    /**
+     * Returns how many steps ahead the avatar is from the given cell and facing.
+     *
+     * @return the number of steps, or -1 if the avatar cannot be seen from there
+     */
+    public int getAvatarDistance(int x, int y, int direction) {
+        return lookup(AVATAR, x, y, direction);
+    }
+
+    /**
+     * Returns how many steps ahead the clone is from the given cell and facing.
+     *
+     * @return the number of steps, or -1 if the clone cannot be seen from there
+     */
+    public int getCloneDistance(int x, int y, int direction) {
+        return lookup(CLONE, x, y, direction);
+    }
+
+    private int lookup(int target, int x, int y, int direction) {
+        if (!marked[target])
+            return -1;
+
+        int tx = targetX[target];
+        int ty = targetY[target];
+        int away;
+        int steps;
+        if (x == tx && y != ty) {
+            away = y > ty ? Dinosaur.UP : Dinosaur.DOWN;
+            steps = Math.abs(y - ty);
+        } else if (y == ty && x != tx) {
+            away = x > tx ? Dinosaur.RIGHT : Dinosaur.LEFT;
+            steps = Math.abs(x - tx);
+        } else {
+            return -1;
+        }
+
+        // Walking away from the target in one direction, the watcher must face the opposite way
+        if (direction != opposite(away) || steps > reach[target][away])
+            return -1;
+        return steps;
+    }
+
+    /**
+     * @param enemiesBlock whether enemies on cotton flowers and switches cut the lines short
+     */
+    private void mark(int target, int tx, int ty, boolean enemiesBlock) {
+        if (tx < 0 || ty < 0 || tx >= level.getWidth() || ty >= level.getHeight())
+            return;
+
+        targetX[target] = tx;
+        targetY[target] = ty;
+        marked[target] = true;
+        reach[target][Dinosaur.LEFT] = reach(tx, ty, Dinosaur.LEFT, enemiesBlock);
+        reach[target][Dinosaur.RIGHT] = reach(tx, ty, Dinosaur.RIGHT, enemiesBlock);
+        reach[target][Dinosaur.DOWN] = reach(tx, ty, Dinosaur.DOWN, enemiesBlock);
+        reach[target][Dinosaur.UP] = reach(tx, ty, Dinosaur.UP, enemiesBlock);
+    }
+
+    /** Returns how many cells of the line leading away from a target can see it */
+    private int reach(int tx, int ty, int away, boolean enemiesBlock) {
+        // The level already knows how far sight reaches from the target in each direction
+        int limit = level.getSightDistance(tx, ty, away) - 1;
+        if (!enemiesBlock)
+            return limit;
+
+        // An enemy on a grid object sees the avatar and hides it from those behind
+        int dx = away == Dinosaur.LEFT ? -1 : away == Dinosaur.RIGHT ? 1 : 0;
+        int dy = away == Dinosaur.DOWN ? -1 : away == Dinosaur.UP ? 1 : 0;
+        for (int k = 1; k <= limit; k++) {
+            int x = tx + k * dx;
+            int y = ty + k * dy;
+            if (level.getGridObject(x, y) != null && level.isEnemyOccupied(x, y))
+                return k;
+        }
+        return limit;
+    }
+
+    private static int opposite(int direction) {
+        switch (direction) {
+            case Dinosaur.LEFT:
+                return Dinosaur.RIGHT;
+            case Dinosaur.RIGHT:
+                return Dinosaur.LEFT;
+            case Dinosaur.UP:
+                return Dinosaur.DOWN;
+            default:
+                return Dinosaur.UP;
+        }
+    }
+}
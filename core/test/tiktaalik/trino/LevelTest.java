@@ -0,0 +1,146 @@
+package tiktaalik.trino;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tiktaalik.trino.duggi.Dinosaur;
+import tiktaalik.trino.duggi.Doll;
+import tiktaalik.trino.enemy.Enemy;
+import tiktaalik.trino.environment.Wall;
+
+import static org.junit.Assert.*;
+
+public class LevelTest {
+    private World world;
+    private Level level;
+
+    @Before
+    public void setUp() {
+        Box2D.init();
+        world = new World(new Vector2(), false);
+        level = new Level(world, 0);
+    }
+
+    @After
+    public void tearDown() {
+        world.dispose();
+    }
+
+    private Dinosaur addAvatar() {
+        Dinosaur avatar = new Doll(3, 3, 1);
+        avatar.setType(GameController.DUGGI);
+        avatar.setDrawScale(new Vector2(40, 40));
+        level.addObject(avatar);
+        level.setAvatar(avatar);
+        return avatar;
+    }
+
+    private Enemy addEnemy(float x, float y) {
+        Enemy enemy = new Enemy(x, y, 1, 0, Enemy.CARNIVORE_ENEMY);
+        enemy.setType(GameController.ENEMY);
+        enemy.setPosition(x, y);
+        level.addObject(enemy);
+        return enemy;
+    }
+
+    @Test
+    public void transformedAvatarTakesOverTheObjectEntry() {
+        Dinosaur doll = addAvatar();
+        Dinosaur carnivore = doll.transformToCarnivore();
+        level.setAvatar(carnivore);
+
+        assertSame(carnivore, level.getAvatar());
+        assertEquals(1, level.getObjects().size());
+        assertSame(carnivore, level.getObjects().getHead());
+        assertNotNull(carnivore.getObjectEntry());
+        assertSame(carnivore, carnivore.getObjectEntry().getValue());
+        assertNull(doll.getObjectEntry());
+    }
+
+    @Test
+    public void transformedAvatarCanBeRemoved() {
+        Dinosaur doll = addAvatar();
+        Dinosaur herbivore = doll.transformToHerbivore();
+        level.setAvatar(herbivore);
+        Dinosaur carnivore = herbivore.transformToCarnivore();
+        level.setAvatar(carnivore);
+
+        level.removeObject(carnivore);
+        assertEquals(0, level.getObjects().size());
+        assertNull(carnivore.getObjectEntry());
+
+        // The replaced avatars hold no handle that could remove anything else
+        level.removeObject(doll);
+        level.removeObject(herbivore);
+        assertEquals(0, level.getObjects().size());
+    }
+
+    @Test
+    public void transformedAvatarReplacesTheOldOneInTheDrawQueue() {
+        Dinosaur doll = addAvatar();
+        level.drawQueue.update(doll);
+        Dinosaur carnivore = doll.transformToCarnivore();
+        level.setAvatar(carnivore);
+
+        assertNull(doll.getDrawEntry());
+        assertEquals(-1, doll.getDrawBucket());
+
+        level.drawQueue.update(carnivore);
+        assertSame(carnivore, carnivore.getDrawEntry().getValue());
+    }
+
+    @Test
+    public void enemyOccupiesTheCellItsPositionIsOn() {
+        Enemy enemy = addEnemy(3, 3);
+        assertTrue(level.isEnemyOnSquare(1, 1));
+
+        enemy.setPosition(4.9f, 3.2f);
+        assertFalse(level.isEnemyOnSquare(1, 1));
+        assertTrue(level.isEnemyOnSquare(2, 1));
+
+        level.removeObject(enemy);
+        assertFalse(level.isEnemyOnSquare(2, 1));
+        assertEquals(0, level.getEnemyCount(2, 1));
+    }
+
+    @Test
+    public void enemyHalfwayBetweenCellsOccupiesNeither() {
+        Enemy enemy = addEnemy(4, 3);
+        assertFalse(level.isEnemyOnSquare(1, 1));
+        assertFalse(level.isEnemyOnSquare(2, 1));
+
+        enemy.setPosition(4.1f, 3);
+        assertTrue(level.isEnemyOnSquare(2, 1));
+    }
+
+    @Test
+    public void enemiesPushedByPhysicsAreCountedAfterTheStep() {
+        Enemy enemy = addEnemy(3, 3);
+        enemy.getBody().setTransform(7, 3, 0);
+        assertTrue(level.isEnemyOnSquare(1, 1));
+
+        level.updateEnemyOccupancy();
+        assertFalse(level.isEnemyOnSquare(1, 1));
+        assertTrue(level.isEnemyOnSquare(3, 1));
+    }
+
+    @Test
+    public void visibilityFollowsEnemiesMovedAfterItWasRead() {
+        Dinosaur avatar = addAvatar();
+        avatar.setPosition(7, 3);
+        Wall cotton = new Wall(5, 1, 0, 0, 1, 1, false);
+        cotton.setType(GameController.COTTON);
+        level.setGridObject(5, 1, cotton, true);
+
+        // An enemy on the cotton flower hides the avatar from the cell behind it
+        Enemy enemy = addEnemy(11, 3);
+        assertEquals(2, level.getVisibility().getAvatarDistance(5, 1, Dinosaur.LEFT));
+        assertEquals(-1, level.getVisibility().getAvatarDistance(7, 1, Dinosaur.LEFT));
+
+        enemy.setPosition(11, 5);
+        assertEquals(4, level.getVisibility().getAvatarDistance(7, 1, Dinosaur.LEFT));
+    }
+}